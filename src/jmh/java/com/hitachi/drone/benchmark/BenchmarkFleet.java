@@ -0,0 +1,94 @@
+package com.hitachi.drone.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.hitachi.drone.DroneApplication;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+
+/**
+ * Boots the application, without a web server unless asked for one, against its own in-memory H2 database,
+ * created by the Flyway migrations like in production, and seeds drones straight through JDBC.
+ */
+final class BenchmarkFleet implements AutoCloseable {
+
+    // Well clear of the ids handed out by drone_seq
+    static final long FIRST_ID = 1_000_000L;
+    static final DroneModel MODEL = DroneModel.HEAVYWEIGHT;
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    BenchmarkFleet(String... properties) {
+        // The background tick is kept away so only the measured code touches the seeded drones. Passed as
+        // command line arguments, which take precedence over application.yml. A property given by the caller
+        // replaces the default rather than being passed twice
+        Map<String, String> overrides = new LinkedHashMap<>();
+        Stream.concat(Stream.of(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                                + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.flyway.enabled=true",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "drone.scheduler.initial-delay-ms=3600000",
+                        "drone.orders.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.hitachi.drone=WARN"),
+                Arrays.stream(properties))
+                .forEach(property -> overrides.put(property.substring(0, property.indexOf('=')), property));
+        context = new SpringApplicationBuilder(DroneApplication.class)
+                .run(overrides.values().stream().map(property -> "--" + property).toArray(String[]::new));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    void seedDrones(int fleetSize, DroneState state) {
+        for (int from = 0; from < fleetSize; from += SEED_BATCH_SIZE) {
+            List<Object[]> rows = IntStream.range(from, Math.min(from + SEED_BATCH_SIZE, fleetSize))
+                    .mapToObj(i -> new Object[] { FIRST_ID + i, "BENCH_" + i, MODEL.name(), MODEL.getMaxWeight(),
+                            100, state.name() })
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO drone (id, serial_number, model, weight_limit, battery_capacity,"
+                    + " state, version) VALUES (?, ?, ?, ?, ?, ?, 0)", rows);
+        }
+    }
+
+    void resetDrones(DroneState state) {
+        jdbcTemplate.update("DELETE FROM medication_image WHERE medication_id IN"
+                + " (SELECT id FROM medication WHERE drone_id >= ?)", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM medication WHERE drone_id >= ?", FIRST_ID);
+        jdbcTemplate.update("UPDATE drone SET state = ?, battery_capacity = 100, loaded_weight = 0 WHERE id >= ?",
+                state.name(), FIRST_ID);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.hitachi.drone.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.hitachi.drone.dto.ImageMetadataDto;
+import com.hitachi.drone.dto.MedicationDto;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.service.IDroneService;
+import com.hitachi.drone.service.IMedicationService;
+
+/**
+ * The read-heavy lookups behind the medication listing and image endpoints, with the caches on (caffeine)
+ * and off (none). Nothing changes the drones while measuring, so with caching on every read after the first
+ * is a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CachedReadBenchmark {
+
+    private static final int FLEET_SIZE = 100;
+    private static final int MEDICATIONS_PER_DRONE = 10;
+
+    @Param({ "caffeine", "none" })
+    String cacheType;
+
+    private BenchmarkFleet fleet;
+    private IDroneService droneService;
+    private IMedicationService medicationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new BenchmarkFleet("spring.cache.type=" + cacheType);
+        fleet.seedDrones(FLEET_SIZE, DroneState.LOADED);
+        seedMedications();
+        droneService = fleet.getBean(IDroneService.class);
+        medicationService = fleet.getBean(IMedicationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public List<MedicationDto> getLoadedMedications() {
+        return droneService.getLoadedMedications(
+                BenchmarkFleet.FIRST_ID + ThreadLocalRandom.current().nextInt(FLEET_SIZE));
+    }
+
+    @Benchmark
+    public ImageMetadataDto getImageMetadata() {
+        return medicationService.getImageMetadata(
+                1L + ThreadLocalRandom.current().nextInt(FLEET_SIZE * MEDICATIONS_PER_DRONE));
+    }
+
+    private void seedMedications() {
+        List<Object[]> medications = new ArrayList<>();
+        List<Object[]> images = new ArrayList<>();
+        long medicationId = 1;
+        for (int drone = 0; drone < FLEET_SIZE; drone++) {
+            for (int i = 0; i < MEDICATIONS_PER_DRONE; i++, medicationId++) {
+                medications.add(new Object[] { medicationId, "Bench", 1, "BENCH_" + medicationId,
+                        BenchmarkFleet.FIRST_ID + drone, "bench.jpg", "image/jpeg" });
+                images.add(new Object[] { medicationId, new byte[] { 1 } });
+            }
+        }
+        fleet.getJdbcTemplate().batchUpdate("INSERT INTO medication (id, name, weight, code, drone_id, image_name,"
+                + " image_type) VALUES (?, ?, ?, ?, ?, ?, ?)", medications);
+        fleet.getJdbcTemplate().batchUpdate("INSERT INTO medication_image (medication_id, image_data) VALUES (?, ?)",
+                images);
+    }
+}
@@ -0,0 +1,140 @@
+package com.hitachi.drone.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import jakarta.servlet.Filter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.hitachi.drone.enums.DroneState;
+
+/**
+ * Requests to the drone and medication read endpoints through the servlet filters, the DispatcherServlet and
+ * Jackson, with the settings the application runs with out of the box (dev: SQL echoed, DEBUG logging, open
+ * session in view) and with the prod profile. Caching is off in both so every request reaches the database.
+ * Console output goes to target/controller-benchmark-{mode}.log, standing in for the log file or collector a
+ * deployment writes to. Requests are made in process; a loopback round trip costs milliseconds on a busy or
+ * virtualised host and would hide the server's own time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerBenchmark {
+
+    private static final int FLEET_SIZE = 1000;
+    private static final int MEDICATIONS_PER_DRONE = 10;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "dev", "prod" })
+    String mode;
+
+    private PrintStream console;
+    private PrintStream logFile;
+    private BenchmarkFleet fleet;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        console = System.out;
+        logFile = new PrintStream(new FileOutputStream("target/controller-benchmark-" + mode + ".log"), true);
+        System.setOut(logFile);
+
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.main.web-application-type=servlet",
+                "server.port=0",
+                "spring.jpa.hibernate.ddl-auto=validate",
+                "spring.cache.type=none",
+                "logging.level.root=INFO"));
+        if (mode.equals("dev")) {
+            // What application.yml sets, the test one on this classpath turns open session in view off
+            properties.addAll(List.of("spring.jpa.show-sql=true", "spring.jpa.open-in-view=true",
+                    "spring.h2.console.enabled=true", "logging.level.com.hitachi.drone=DEBUG"));
+        } else {
+            // The profile sets the same, the defaults of BenchmarkFleet would otherwise take precedence over it
+            properties.addAll(List.of("spring.profiles.active=prod", "spring.jpa.show-sql=false",
+                    "spring.jpa.open-in-view=false", "spring.h2.console.enabled=false",
+                    "logging.level.com.hitachi.drone=INFO"));
+        }
+        fleet = new BenchmarkFleet(properties.toArray(String[]::new));
+        fleet.seedDrones(FLEET_SIZE, DroneState.LOADED);
+        seedMedications();
+
+        WebApplicationContext context = (WebApplicationContext) fleet.getContext();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBeansOfType(Filter.class).values().toArray(Filter[]::new))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fleet.close();
+        System.setOut(console);
+        logFile.close();
+    }
+
+    @Benchmark
+    public byte[] listDrones() throws Exception {
+        long afterId = BenchmarkFleet.FIRST_ID + ThreadLocalRandom.current().nextInt(FLEET_SIZE - PAGE_SIZE);
+        return request("/api/drones?afterId=" + afterId + "&limit=" + PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] getLoadedMedications() throws Exception {
+        return request("/api/drones/" + randomDroneId() + "/medications");
+    }
+
+    @Benchmark
+    public byte[] listMedicationsOfDrone() throws Exception {
+        return request("/api/medications?droneId=" + randomDroneId());
+    }
+
+    private long randomDroneId() {
+        return BenchmarkFleet.FIRST_ID + ThreadLocalRandom.current().nextInt(FLEET_SIZE);
+    }
+
+    private byte[] request(String path) throws Exception {
+        return mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    private void seedMedications() {
+        List<Object[]> medications = new ArrayList<>();
+        long medicationId = 1;
+        for (int drone = 0; drone < FLEET_SIZE; drone++) {
+            for (int i = 0; i < MEDICATIONS_PER_DRONE; i++, medicationId++) {
+                medications.add(new Object[] { medicationId, "Bench", 1, "BENCH_" + medicationId,
+                        BenchmarkFleet.FIRST_ID + drone });
+            }
+        }
+        fleet.getJdbcTemplate().batchUpdate("INSERT INTO medication (id, name, weight, code, drone_id)"
+                + " VALUES (?, ?, ?, ?, ?)", medications);
+        fleet.getJdbcTemplate().update("UPDATE drone SET loaded_weight = ? WHERE id >= ?", MEDICATIONS_PER_DRONE,
+                BenchmarkFleet.FIRST_ID);
+    }
+}
@@ -0,0 +1,89 @@
+package com.hitachi.drone.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.hitachi.drone.dispatch.BinPacker;
+import com.hitachi.drone.dispatch.PackingResult;
+import com.hitachi.drone.dto.DispatchItemDto;
+import com.hitachi.drone.dto.DispatchPlanDto;
+import com.hitachi.drone.dto.DispatchPlanRequestDto;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.enums.PackingStrategy;
+import com.hitachi.drone.service.IDispatchService;
+
+/**
+ * Plans a batch of medications onto idle drones, both the packing alone and the whole plan including the query
+ * for available drones. BEST_OF_ALL runs every strategy concurrently and keeps the best plan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DispatchPlanBenchmark {
+
+    @Param({ "10000" })
+    int items;
+
+    @Param({ "1000" })
+    int fleetSize;
+
+    @Param({ "FIRST_FIT_DECREASING", "BEST_FIT_DECREASING", "WORST_FIT_DECREASING", "BEST_OF_ALL" })
+    String strategy;
+
+    private BenchmarkFleet fleet;
+    private IDispatchService dispatchService;
+    private DispatchPlanRequestDto request;
+    private double[] weights;
+    private double[] capacities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new BenchmarkFleet();
+        fleet.seedDrones(fleetSize, DroneState.IDLE);
+        dispatchService = fleet.getBean(IDispatchService.class);
+
+        // Medications of 1 to 300 grams, about half again as much as the fleet can carry
+        Random random = new Random(42);
+        weights = random.doubles(items, 1, 300).toArray();
+        capacities = new double[fleetSize];
+        Arrays.fill(capacities, BenchmarkFleet.MODEL.getMaxWeight());
+        List<DispatchItemDto> medications = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            medications.add(new DispatchItemDto("BENCH_" + i, weights[i]));
+        }
+        boolean bestOfAll = "BEST_OF_ALL".equals(strategy);
+        request = new DispatchPlanRequestDto(medications, bestOfAll ? null : PackingStrategy.valueOf(strategy),
+                bestOfAll);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public PackingResult pack() {
+        return request.getStrategy() != null
+                ? BinPacker.pack(weights, capacities, request.getStrategy())
+                : BinPacker.packBest(weights, capacities, true);
+    }
+
+    @Benchmark
+    public DispatchPlanDto plan() {
+        return dispatchService.plan(request);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hitachi.drone.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.service.IDroneService;
+
+/**
+ * Loading and availability checks against a seeded fleet of drones that already carry some medications. Every
+ * load goes to a random drone and weighs 1g, so no drone reaches its weight limit within one iteration. The
+ * capacity check reads the drone's loaded weight, so its cost should not grow with the medications on board.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DroneServiceBenchmark {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    // Well clear of the ids medication_seq hands out to the loads measured here
+    private static final long FIRST_PRELOADED_ID = 1_000_000_000L;
+
+    @Param({ "1000", "10000" })
+    int fleetSize;
+
+    @Param({ "1", "10", "100" })
+    int medicationsPerDrone;
+
+    private final AtomicLong medicationCodes = new AtomicLong();
+
+    private BenchmarkFleet fleet;
+    private IDroneService droneService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new BenchmarkFleet();
+        fleet.seedDrones(fleetSize, DroneState.LOADED);
+        preloadMedications();
+        droneService = fleet.getBean(IDroneService.class);
+    }
+
+    // Only what the previous iteration loaded is removed, the preloaded medications stay on board
+    @Setup(Level.Iteration)
+    public void unloadFleet() {
+        fleet.getJdbcTemplate().update("DELETE FROM medication WHERE drone_id >= ? AND code LIKE 'BENCH%'",
+                BenchmarkFleet.FIRST_ID);
+        fleet.getJdbcTemplate().update("UPDATE drone SET state = ?, battery_capacity = 100, loaded_weight = ?"
+                + " WHERE id >= ?", DroneState.LOADED.name(), medicationsPerDrone, BenchmarkFleet.FIRST_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public void loadDrone() {
+        droneService.loadDrone(randomDroneId(), newMedication());
+    }
+
+    // Same ten medications as loadDroneBatch, one transaction each
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void loadDroneTenTimes() {
+        Long droneId = randomDroneId();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            droneService.loadDrone(droneId, newMedication());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void loadDroneBatch() {
+        List<Medication> medications = IntStream.range(0, BATCH_SIZE).mapToObj(i -> newMedication()).toList();
+        droneService.loadDroneBatch(randomDroneId(), medications);
+    }
+
+    @Benchmark
+    public Boolean checkDroneAvailability() {
+        return droneService.checkDroneAvailability(randomDroneId());
+    }
+
+    private Long randomDroneId() {
+        return BenchmarkFleet.FIRST_ID + ThreadLocalRandom.current().nextInt(fleetSize);
+    }
+
+    private void preloadMedications() {
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+        long medicationId = FIRST_PRELOADED_ID;
+        for (int drone = 0; drone < fleetSize; drone++) {
+            for (int i = 0; i < medicationsPerDrone; i++, medicationId++) {
+                rows.add(new Object[] { medicationId, "Preloaded", 1, "PRELOADED_" + medicationId,
+                        BenchmarkFleet.FIRST_ID + drone });
+                if (rows.size() == SEED_BATCH_SIZE) {
+                    insertMedications(rows);
+                    rows.clear();
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertMedications(rows);
+        }
+    }
+
+    private void insertMedications(List<Object[]> rows) {
+        fleet.getJdbcTemplate().batchUpdate("INSERT INTO medication (id, name, weight, code, drone_id)"
+                + " VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private Medication newMedication() {
+        Medication medication = new Medication();
+        medication.setName("Bench");
+        medication.setCode("BENCH_" + medicationCodes.incrementAndGet());
+        medication.setWeight(1.0);
+        return medication;
+    }
+}
@@ -0,0 +1,85 @@
+package com.hitachi.drone.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.hitachi.drone.dto.MedicationDto;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.service.IDroneService;
+
+/**
+ * Reads the medications loaded on a drone, with and without a stored image per medication. The image bytes
+ * live in their own table, so both variants should cost the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MedicationQueryBenchmark {
+
+    private static final int FLEET_SIZE = 100;
+    private static final int IMAGE_SIZE = 256 * 1024;
+
+    @Param({ "1", "10", "100" })
+    int medicationsPerDrone;
+
+    @Param({ "false", "true" })
+    boolean withImages;
+
+    private BenchmarkFleet fleet;
+    private IDroneService droneService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = new BenchmarkFleet();
+        fleet.seedDrones(FLEET_SIZE, DroneState.LOADED);
+        seedMedications();
+        droneService = fleet.getBean(IDroneService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public List<MedicationDto> getLoadedMedications() {
+        return droneService.getLoadedMedications(
+                BenchmarkFleet.FIRST_ID + ThreadLocalRandom.current().nextInt(FLEET_SIZE));
+    }
+
+    private void seedMedications() {
+        byte[] image = new byte[IMAGE_SIZE];
+        ThreadLocalRandom.current().nextBytes(image);
+
+        List<Object[]> medications = new ArrayList<>();
+        List<Object[]> images = new ArrayList<>();
+        long medicationId = 1;
+        for (int drone = 0; drone < FLEET_SIZE; drone++) {
+            for (int i = 0; i < medicationsPerDrone; i++, medicationId++) {
+                medications.add(new Object[] { medicationId, "Bench", 1, "BENCH_" + medicationId,
+                        BenchmarkFleet.FIRST_ID + drone, withImages ? "bench.jpg" : null,
+                        withImages ? "image/jpeg" : null });
+                if (withImages) {
+                    images.add(new Object[] { medicationId, image });
+                }
+            }
+        }
+        fleet.getJdbcTemplate().batchUpdate("INSERT INTO medication (id, name, weight, code, drone_id, image_name,"
+                + " image_type) VALUES (?, ?, ?, ?, ?, ?, ?)", medications);
+        fleet.getJdbcTemplate().batchUpdate("INSERT INTO medication_image (medication_id, image_data) VALUES (?, ?)",
+                images);
+    }
+}
@@ -0,0 +1,63 @@
+package com.hitachi.drone.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.TransitionTimer;
+import com.hitachi.drone.scheduler.DroneStateScheduler;
+
+/**
+ * One scheduler tick in which every seeded drone is due to return from a delivery. Each iteration measures a
+ * single tick, since the tick itself consumes the due transitions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchedulerTickBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int fleetSize;
+
+    private BenchmarkFleet fleet;
+    private DroneStateScheduler droneStateScheduler;
+    private TransitionTimer transitionTimer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Docking is never due within a run, so each tick only sees the returns scheduled for it
+        fleet = new BenchmarkFleet("drone.lifecycle.return-ms=3600000");
+        fleet.seedDrones(fleetSize, DroneState.DELIVERED);
+        droneStateScheduler = fleet.getBean(DroneStateScheduler.class);
+        transitionTimer = fleet.getBean(TransitionTimer.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void scheduleReturns() {
+        fleet.resetDrones(DroneState.DELIVERED);
+        for (int i = 0; i < fleetSize; i++) {
+            transitionTimer.schedule(BenchmarkFleet.FIRST_ID + i, DroneTransition.RETURN, 0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public void advanceDueTransitions() {
+        droneStateScheduler.advanceDueTransitions();
+    }
+}
@@ -0,0 +1,160 @@
+package com.hitachi.drone.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test against a running application: every client polls the battery and availability of the
+ * pre-loaded drones in turn, sending its next request as soon as the previous one is answered.
+ * <p>
+ * Arguments are given as {@code key=value}: baseUrl, clients, drones, warmupSeconds, durationSeconds, label and
+ * result, the file the summary is written to as JSON.
+ */
+public final class PollingLoadTest {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final int drones;
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean measuring;
+
+    private PollingLoadTest(HttpClient httpClient, String baseUrl, int drones) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.drones = drones;
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+        String baseUrl = options.getOrDefault("baseUrl", "http://localhost:8080");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "5000"));
+        int drones = Integer.parseInt(options.getOrDefault("drones", "10"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmupSeconds", "10"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("durationSeconds", "30"));
+        String label = options.getOrDefault("label", "default");
+        Path result = Path.of(options.getOrDefault("result", "target/loadtest-result.json"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+        PollingLoadTest loadTest = new PollingLoadTest(httpClient, baseUrl, drones);
+
+        System.out.printf("Polling %s with %d clients: %d s warmup, %d s measured%n", baseUrl, clients,
+                warmupSeconds, durationSeconds);
+        CountDownLatch stopped = new CountDownLatch(clients);
+        Client[] pollers = new Client[clients];
+        for (int i = 0; i < clients; i++) {
+            pollers[i] = loadTest.new Client(i, stopped);
+            pollers[i].poll();
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        loadTest.errors.set(0);
+        loadTest.measuring = true;
+        long startNanos = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        loadTest.measuring = false;
+        double measuredSeconds = (System.nanoTime() - startNanos) / 1e9;
+        loadTest.running = false;
+        stopped.await(1, TimeUnit.MINUTES);
+        executor.shutdownNow();
+
+        int requests = Arrays.stream(pollers).mapToInt(poller -> poller.recorded).sum();
+        long[] latencies = new long[requests];
+        int offset = 0;
+        for (Client poller : pollers) {
+            System.arraycopy(poller.latencyNanos, 0, latencies, offset, poller.recorded);
+            offset += poller.recorded;
+        }
+        Arrays.sort(latencies);
+
+        String summary = String.format(Locale.ROOT, "{\"label\":\"%s\",\"clients\":%d,\"seconds\":%.1f,"
+                        + "\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,"
+                        + "\"p999Ms\":%.2f,\"maxMs\":%.2f}",
+                label, clients, measuredSeconds, requests, loadTest.errors.get(), requests / measuredSeconds,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999), percentileMillis(latencies, 1.0));
+        System.out.println(summary);
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        Files.writeString(result, summary + System.lineSeparator());
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * One polling client. Its requests never overlap, so the latencies it records need no synchronization.
+     */
+    private final class Client {
+        private final int id;
+        private final CountDownLatch stopped;
+        private long[] latencyNanos = new long[1024];
+        private int recorded;
+        private long sent;
+
+        private Client(int id, CountDownLatch stopped) {
+            this.id = id;
+            this.stopped = stopped;
+        }
+
+        private void poll() {
+            if (!running) {
+                stopped.countDown();
+                return;
+            }
+            long droneId = (id + sent) % drones + 1;
+            String check = sent++ % 2 == 0 ? "battery" : "availability";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/drones/" + droneId + "/" + check))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+
+            boolean measured = measuring;
+            long startNanos = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                } else if (measured && measuring) {
+                    record(System.nanoTime() - startNanos);
+                }
+                poll();
+            });
+        }
+
+        private void record(long nanos) {
+            if (recorded == latencyNanos.length) {
+                latencyNanos = Arrays.copyOf(latencyNanos, recorded * 2);
+            }
+            latencyNanos[recorded++] = nanos;
+        }
+    }
+}
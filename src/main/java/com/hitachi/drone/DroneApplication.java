@@ -2,8 +2,14 @@ package com.hitachi.drone;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
+@EnableRetry
+// Applied outside the transaction, so a cache hit never opens one
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class DroneApplication {
 
 	public static void main(String[] args) {
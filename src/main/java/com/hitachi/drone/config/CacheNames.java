@@ -0,0 +1,14 @@
+package com.hitachi.drone.config;
+
+/**
+ * Names of the caches configured under spring.cache.
+ */
+public final class CacheNames {
+    // Medications loaded on a drone, by drone id
+    public static final String DRONE_MEDICATIONS = "drone-medications";
+    // Medication image metadata, by medication id
+    public static final String MEDICATION_IMAGES = "medication-images";
+
+    private CacheNames() {
+    }
+}
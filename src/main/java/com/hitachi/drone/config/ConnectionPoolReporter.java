@@ -0,0 +1,69 @@
+package com.hitachi.drone.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks at startup that a connection can be borrowed from the pool, and reports how the pool is sized and used.
+ * The same figures are exported continuously as the hikaricp.connections metrics.
+ */
+@Component
+public class ConnectionPoolReporter {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolReporter.class);
+
+    private final DataSource dataSource;
+    private final boolean ordersEnabled;
+    private final int orderWorkers;
+
+    public ConnectionPoolReporter(DataSource dataSource,
+            @Value("${drone.orders.enabled:false}") boolean ordersEnabled,
+            @Value("${drone.orders.workers:4}") int orderWorkers) {
+        this.dataSource = dataSource;
+        this.ordersEnabled = ordersEnabled;
+        this.orderWorkers = orderWorkers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportConnectionPool() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(1)) {
+                logger.error("Database connection borrowed at startup is not valid");
+                return;
+            }
+        } catch (SQLException e) {
+            logger.error("Unable to borrow a database connection at startup", e);
+            return;
+        }
+        long acquireMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (!(dataSource instanceof HikariDataSource hikari) || hikari.getHikariPoolMXBean() == null) {
+            logger.info("Database connection acquired in {} ms, the data source is not a Hikari pool",
+                    acquireMillis);
+            return;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int maximumPoolSize = hikari.getMaximumPoolSize();
+        logger.info("Connection pool {} acquired a connection in {} ms: {} of at most {} connections open, {} active,"
+                        + " {} idle, {} threads waiting", hikari.getPoolName(), acquireMillis,
+                pool.getTotalConnections(), maximumPoolSize, pool.getActiveConnections(),
+                pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+
+        // Every order worker holds a connection for the whole load, requests only get what is left
+        if (ordersEnabled && maximumPoolSize <= orderWorkers) {
+            logger.warn("Connection pool {} has {} connections for {} order workers, requests will wait for"
+                    + " connections while the workers load", hikari.getPoolName(), maximumPoolSize, orderWorkers);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hitachi.drone.config;
+
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether requests are served on virtual or platform threads, since Spring Boot silently falls back to
+ * platform threads when {@code spring.threads.virtual.enabled} is set on a runtime older than Java 21.
+ */
+@Component
+@AllArgsConstructor
+public class ThreadingModeReporter {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Serving requests on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("Virtual threads are enabled, but Java {} does not support them; serving requests on"
+                    + " platform threads", Runtime.version().feature());
+        } else {
+            logger.info("Serving requests on platform threads");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.hitachi.drone.controller;
+
+import com.hitachi.drone.dto.DispatchPlanDto;
+import com.hitachi.drone.dto.DispatchPlanRequestDto;
+import com.hitachi.drone.service.IDispatchService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/dispatch")
+public class DispatchController {
+    private final IDispatchService dispatchService;
+
+    @PostMapping("/plan")
+    public ResponseEntity<DispatchPlanDto> plan(@Valid @RequestBody DispatchPlanRequestDto request) {
+        return ResponseEntity.ok(dispatchService.plan(request));
+    }
+
+}
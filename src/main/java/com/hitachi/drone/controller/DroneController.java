@@ -1,26 +1,97 @@
 package com.hitachi.drone.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.drone.dto.BatchItemErrorDto;
+import com.hitachi.drone.dto.BatteryHistoryPointDto;
+import com.hitachi.drone.dto.BulkRegistrationResponseDto;
+import com.hitachi.drone.dto.DroneDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.dto.MedicationBatchGetRequestDto;
+import com.hitachi.drone.dto.MedicationDto;
 import com.hitachi.drone.dto.ResponseDto;
 import com.hitachi.drone.entity.Drone;
 import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneEventBroadcaster;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.projection.DroneSummaryView;
+import com.hitachi.drone.service.IBatteryHistoryService;
 import com.hitachi.drone.service.IDroneService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DurationFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/drones")
 public class DroneController {
+    // Each chunk is registered in its own transaction, which bounds memory for arbitrarily long streams. The
+    // response lists every row that was not committed, so earlier chunks stay registered when a later one fails
+    private static final int BULK_CHUNK_SIZE = 500;
+    // Medications read per transaction while streaming a drone's load
+    private static final int STREAM_PAGE_SIZE = 200;
+    // Drone ids bound into one IN-query while streaming a batch get
+    private static final int BATCH_GET_CHUNK_SIZE = 500;
+
     private final IDroneService droneService;
+    private final ObjectMapper objectMapper;
+    private final DroneEventBroadcaster droneEventBroadcaster;
+    private final IBatteryHistoryService batteryHistoryService;
 
     @PostMapping("/register")
-    public ResponseEntity<Drone> registerDrone(@Valid @RequestBody Drone drone) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(droneService.registerDrone(drone));
+    public ResponseEntity<DroneDto> registerDrone(@Valid @RequestBody Drone drone) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(DroneDto.of(droneService.registerDrone(drone)));
+    }
+
+    @PostMapping(value = "/register/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkRegistrationResponseDto> registerDrones(@RequestBody List<Drone> drones) {
+        BulkRegistrationResponseDto response = new BulkRegistrationResponseDto(0, 0, new ArrayList<>());
+        for (int from = 0; from < drones.size(); from += BULK_CHUNK_SIZE) {
+            List<Drone> chunk = drones.subList(from, Math.min(from + BULK_CHUNK_SIZE, drones.size()));
+            registerChunk(response, chunk, from);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // Newline delimited JSON, one drone per line, registered while the body is still being read
+    @PostMapping(value = "/register/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkRegistrationResponseDto> registerDronesStream(InputStream body) throws IOException {
+        BulkRegistrationResponseDto response = new BulkRegistrationResponseDto(0, 0, new ArrayList<>());
+        try (MappingIterator<Drone> drones = objectMapper.readerFor(Drone.class).readValues(body)) {
+            List<Drone> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            while (drones.hasNextValue()) {
+                chunk.add(drones.nextValue());
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    registerChunk(response, chunk, response.getReceived());
+                    chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                registerChunk(response, chunk, response.getReceived());
+            }
+        }
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/{id}/load")
@@ -31,20 +102,183 @@ public class DroneController {
                 .body(new ResponseDto(HttpStatus.CREATED.value(), "Drone loaded successfully"));
     }
 
+    @PostMapping("/{id}/load/batch")
+    public ResponseEntity<ResponseDto> loadDroneBatch(@PathVariable Long id,
+            @RequestBody List<Medication> medications) {
+        droneService.loadDroneBatch(id, medications);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ResponseDto(HttpStatus.CREATED.value(),
+                        String.format("Drone loaded successfully with %d medications", medications.size())));
+    }
+
+    @PostMapping("/{id}/dispatch")
+    public ResponseEntity<ResponseDto> dispatchDrone(@PathVariable Long id) {
+        droneService.dispatchDrone(id);
+        return ResponseEntity.ok(new ResponseDto(HttpStatus.OK.value(), "Drone dispatched successfully"));
+    }
+
     @GetMapping("/{id}/medications")
-    public ResponseEntity<List<Medication>> getMedications(@PathVariable Long id) {
+    public ResponseEntity<List<MedicationDto>> getMedications(@PathVariable Long id) {
         return ResponseEntity.ok(droneService.getLoadedMedications(id));
     }
 
+    // Written one page at a time, and the next page is only read once the client has taken the previous one.
+    // No transaction or connection is held while the client reads, and memory stays bounded by the page size.
+    // This stands in for the requested WebFlux and R2DBC read path, which is still open: see the README
+    @GetMapping(value = "/{id}/medications", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMedications(@PathVariable Long id) {
+        // Read before the response is committed, so an unknown drone is still answered with a 404
+        List<Medication> firstPage = droneService.getLoadedMedicationsPage(id, 0L, STREAM_PAGE_SIZE);
+
+        StreamingResponseBody body = outputStream -> {
+            List<Medication> page = firstPage;
+            while (!page.isEmpty()) {
+                for (Medication medication : page) {
+                    // The drone was fetched with the page, nothing is loaded lazily here
+                    outputStream.write(objectMapper.writeValueAsBytes(
+                            MedicationDto.of(medication, DroneDto.of(medication.getDrone()))));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                if (page.size() < STREAM_PAGE_SIZE) {
+                    break;
+                }
+                page = droneService.getLoadedMedicationsPage(id, page.get(page.size() - 1).getId(),
+                        STREAM_PAGE_SIZE);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Written with Jackson's streaming generator a chunk of drones at a time, so neither the full result nor its
+    // JSON is ever held in memory. Image bytes are never included; they are served by /api/medications/{id}/image
+    @PostMapping("/medications:batchGet")
+    public ResponseEntity<StreamingResponseBody> batchGetMedications(
+            @Valid @RequestBody MedicationBatchGetRequestDto request) {
+        List<Long> droneIds = request.getDroneIds().stream().distinct().sorted().toList();
+        // Read before the response is committed, so a failing query is still answered with an error status
+        Map<Long, List<DroneMedicationView>> firstChunk = droneService.getLoadedMedicationsByDroneIds(
+                droneIds.subList(0, Math.min(BATCH_GET_CHUNK_SIZE, droneIds.size())));
+
+        StreamingResponseBody body = outputStream -> {
+            List<Long> notFound = new ArrayList<>();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("drones");
+                for (int from = 0; from < droneIds.size(); from += BATCH_GET_CHUNK_SIZE) {
+                    List<Long> chunk = droneIds.subList(from, Math.min(from + BATCH_GET_CHUNK_SIZE, droneIds.size()));
+                    Map<Long, List<DroneMedicationView>> medicationsByDrone = from == 0
+                            ? firstChunk
+                            : droneService.getLoadedMedicationsByDroneIds(chunk);
+                    for (Long droneId : chunk) {
+                        List<DroneMedicationView> medications = medicationsByDrone.get(droneId);
+                        if (medications == null) {
+                            notFound.add(droneId);
+                        } else {
+                            writeDroneMedications(generator, droneId, medications);
+                        }
+                    }
+                    generator.flush();
+                }
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("notFound");
+                for (Long droneId : notFound) {
+                    generator.writeNumber(droneId);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static void writeDroneMedications(JsonGenerator generator, Long droneId,
+            List<DroneMedicationView> medications) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("droneId", droneId);
+        generator.writeArrayFieldStart("medications");
+        for (DroneMedicationView medication : medications) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", medication.getId());
+            generator.writeStringField("name", medication.getName());
+            generator.writeNumberField("weight", medication.getWeight());
+            generator.writeStringField("code", medication.getCode());
+            generator.writeStringField("imageName", medication.getImageName());
+            generator.writeStringField("imageType", medication.getImageType());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
     @GetMapping("/{id}/availability")
     public ResponseEntity<Boolean> checkDroneAvailability(@PathVariable Long id) {
         boolean isAvailable = droneService.checkDroneAvailability(id);
         return ResponseEntity.ok(isAvailable);
     }
 
+    @GetMapping
+    public ResponseEntity<KeysetPageDto<DroneSummaryView>> listDrones(
+            @RequestParam(required = false) DroneState state,
+            @RequestParam(required = false) DroneModel model,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "50") Integer limit) {
+        return ResponseEntity.ok(droneService.listDrones(state, model, afterId, limit));
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<KeysetPageDto<AvailableDroneView>> findAvailableDrones(
+            @RequestParam(defaultValue = "0") Double minCapacity,
+            @RequestParam(defaultValue = "25") Integer minBattery,
+            @RequestParam(required = false) DroneModel model,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "50") Integer limit) {
+        return ResponseEntity.ok(droneService.findAvailableDrones(minCapacity, minBattery, model, afterId, limit));
+    }
+
+    // Replaces polling of battery and availability: one connection receives every change of the watched drones
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(name = "droneId", required = false) Set<Long> droneIds,
+            @RequestParam(name = "state", required = false) Set<DroneState> states) {
+        return droneEventBroadcaster.subscribe(droneIds != null ? droneIds : Set.of(),
+                states != null ? states : Set.of());
+    }
+
     @GetMapping("/{id}/battery")
     public ResponseEntity<Integer> checkBattery(@PathVariable Long id) {
         return ResponseEntity.ok(droneService.checkBattery(id));
     }
 
+    @GetMapping("/{id}/battery/history")
+    public ResponseEntity<List<BatteryHistoryPointDto>> getBatteryHistory(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) @DurationFormat(style = DurationFormat.Style.SIMPLE) Duration step) {
+        return ResponseEntity.ok(batteryHistoryService.getBatteryHistory(id, from, to, step));
+    }
+
+    // A serial number stored concurrently rolls back the whole chunk; its rows are reported as not registered
+    // and the remaining chunks are still written
+    private void registerChunk(BulkRegistrationResponseDto response, List<Drone> chunk, int firstIndex) {
+        BulkRegistrationResponseDto chunkResult;
+        try {
+            chunkResult = droneService.registerDrones(chunk, firstIndex);
+        } catch (DataIntegrityViolationException exception) {
+            List<BatchItemErrorDto> rejected = new ArrayList<>();
+            for (int index = 0; index < chunk.size(); index++) {
+                Drone drone = chunk.get(index);
+                rejected.add(new BatchItemErrorDto(firstIndex + index, drone == null ? null : drone.getSerialNumber(),
+                        List.of("Conflicts with a drone stored concurrently, please retry")));
+            }
+            chunkResult = new BulkRegistrationResponseDto(chunk.size(), 0, rejected);
+        }
+        addChunkResult(response, chunkResult);
+    }
+
+    private static void addChunkResult(BulkRegistrationResponseDto response, BulkRegistrationResponseDto chunkResult) {
+        response.setReceived(response.getReceived() + chunkResult.getReceived());
+        response.setRegistered(response.getRegistered() + chunkResult.getRegistered());
+        response.getRejected().addAll(chunkResult.getRejected());
+    }
+
 }
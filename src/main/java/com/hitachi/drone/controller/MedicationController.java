@@ -0,0 +1,54 @@
+package com.hitachi.drone.controller;
+
+import com.hitachi.drone.dto.ImageMetadataDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.service.IMedicationService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/medications")
+public class MedicationController {
+    private final IMedicationService medicationService;
+
+    @GetMapping
+    public ResponseEntity<KeysetPageDto<DroneMedicationView>> listMedications(
+            @RequestParam(required = false) Long droneId,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "50") Integer limit) {
+        return ResponseEntity.ok(medicationService.listMedications(droneId, afterId, limit));
+    }
+
+    @GetMapping("/{id}/image")
+    public ResponseEntity<StreamingResponseBody> getImage(@PathVariable Long id) {
+        ImageMetadataDto image = medicationService.getImageMetadata(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(toMediaType(image.imageType()));
+        if (image.imageName() != null) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.inline().filename(image.imageName()).build().toString());
+        }
+        return response.body(outputStream -> medicationService.streamImage(id, outputStream));
+    }
+
+    // The type is the one the client sent with the image, stored as is; one that does not parse is served as
+    // plain bytes
+    private static MediaType toMediaType(String imageType) {
+        if (imageType == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(imageType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.hitachi.drone.controller;
+
+import com.hitachi.drone.dto.DeliveryOrderDto;
+import com.hitachi.drone.dto.DeliveryOrderRequestDto;
+import com.hitachi.drone.dto.OrderIntakeResponseDto;
+import com.hitachi.drone.service.IOrderService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/orders")
+public class OrderController {
+    private final IOrderService orderService;
+
+    // Orders are only stored here and loaded by the order workers, so a burst is accepted at insert speed
+    @PostMapping
+    public ResponseEntity<OrderIntakeResponseDto> submitOrders(
+            @Valid @RequestBody List<@Valid DeliveryOrderRequestDto> orders) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(orderService.submitOrders(orders));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeliveryOrderDto> getOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.getOrder(id));
+    }
+
+}
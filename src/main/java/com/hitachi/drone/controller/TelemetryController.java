@@ -0,0 +1,49 @@
+package com.hitachi.drone.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.drone.dto.TelemetryReportDto;
+import com.hitachi.drone.dto.TelemetryResponseDto;
+import com.hitachi.drone.service.ITelemetryService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// Reports are only buffered here; they reach the database with the next flush
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/drones/telemetry")
+public class TelemetryController {
+    private final ITelemetryService telemetryService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TelemetryResponseDto> reportNdjson(InputStream body) throws IOException {
+        int received = 0;
+        int accepted = 0;
+        try (MappingIterator<TelemetryReportDto> reports = objectMapper.readerFor(TelemetryReportDto.class)
+                .readValues(body)) {
+            while (reports.hasNextValue()) {
+                TelemetryReportDto report = reports.nextValue();
+                received++;
+                if (telemetryService.recordBattery(report.getDroneId(), report.getBatteryCapacity())) {
+                    accepted++;
+                }
+            }
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new TelemetryResponseDto(received, accepted));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<TelemetryResponseDto> reportBinary(@RequestBody byte[] body) {
+        int accepted = telemetryService.recordBinary(ByteBuffer.wrap(body));
+        int received = (body.length + ITelemetryService.RECORD_SIZE - 1) / ITelemetryService.RECORD_SIZE;
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new TelemetryResponseDto(received, accepted));
+    }
+}
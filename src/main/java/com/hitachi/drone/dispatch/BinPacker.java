@@ -0,0 +1,164 @@
+package com.hitachi.drone.dispatch;
+
+import com.hitachi.drone.enums.PackingStrategy;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Packs weighted items into bins of limited capacity with decreasing-order heuristics.
+ * <p>
+ * Every strategy runs in O(n log n + n log m) for n items and m bins: items are placed heaviest first, and the
+ * bin for each is found through a tree over the remaining capacities instead of a scan over all bins.
+ */
+public final class BinPacker {
+    // Tolerates the rounding of summed double weights, so an item filling a bin exactly still fits
+    static final double EPSILON = 1e-9;
+
+    private static final Comparator<PackingResult> BEST_FIRST = Comparator
+            .comparingDouble(PackingResult::assignedWeight).reversed()
+            .thenComparingInt(PackingResult::binsUsed)
+            .thenComparing(PackingResult::strategy);
+
+    private BinPacker() {
+    }
+
+    /**
+     * Runs every strategy, concurrently when {@code parallel} is set, and keeps the one assigning the most
+     * weight, then using the fewest bins.
+     */
+    public static PackingResult packBest(double[] weights, double[] capacities, boolean parallel) {
+        Stream<PackingStrategy> strategies = Arrays.stream(PackingStrategy.values());
+        return (parallel ? strategies.parallel() : strategies)
+                .map(strategy -> pack(weights, capacities, strategy))
+                .min(BEST_FIRST)
+                .orElseThrow();
+    }
+
+    public static PackingResult pack(double[] weights, double[] capacities, PackingStrategy strategy) {
+        int[] binOfItem = new int[weights.length];
+        Arrays.fill(binOfItem, -1);
+        double[] remaining = capacities.clone();
+        BinSelector selector = switch (strategy) {
+            case FIRST_FIT_DECREASING -> new FirstFitSelector(remaining);
+            case BEST_FIT_DECREASING -> new TreeSelector(remaining, false);
+            case WORST_FIT_DECREASING -> new TreeSelector(remaining, true);
+        };
+
+        int assignedItems = 0;
+        double assignedWeight = 0;
+        boolean[] used = new boolean[capacities.length];
+        int binsUsed = 0;
+        for (int item : heaviestFirst(weights)) {
+            int bin = selector.take(weights[item]);
+            if (bin < 0) {
+                continue;
+            }
+            binOfItem[item] = bin;
+            assignedItems++;
+            assignedWeight += weights[item];
+            if (!used[bin]) {
+                used[bin] = true;
+                binsUsed++;
+            }
+        }
+        return new PackingResult(strategy, binOfItem, assignedItems, assignedWeight, binsUsed);
+    }
+
+    private static int[] heaviestFirst(double[] weights) {
+        return IntStream.range(0, weights.length)
+                .boxed()
+                .sorted((a, b) -> Double.compare(weights[b], weights[a]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private interface BinSelector {
+        /**
+         * Chooses a bin with room for the weight and takes it from that bin, or returns -1.
+         */
+        int take(double weight);
+    }
+
+    /**
+     * Segment tree of the largest remaining capacity per range of bins, descended towards the leftmost bin that
+     * fits.
+     */
+    private static final class FirstFitSelector implements BinSelector {
+        private final double[] remaining;
+        private final double[] tree;
+        private final int leaves;
+
+        FirstFitSelector(double[] remaining) {
+            this.remaining = remaining;
+            int size = 1;
+            while (size < Math.max(remaining.length, 1)) {
+                size <<= 1;
+            }
+            leaves = size;
+            tree = new double[2 * size];
+            Arrays.fill(tree, Double.NEGATIVE_INFINITY);
+            System.arraycopy(remaining, 0, tree, size, remaining.length);
+            for (int node = size - 1; node > 0; node--) {
+                tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        @Override
+        public int take(double weight) {
+            if (tree[1] + EPSILON < weight) {
+                return -1;
+            }
+            int node = 1;
+            while (node < leaves) {
+                node = tree[2 * node] + EPSILON >= weight ? 2 * node : 2 * node + 1;
+            }
+            int bin = node - leaves;
+            remaining[bin] -= weight;
+            tree[node] = remaining[bin];
+            for (node >>= 1; node > 0; node >>= 1) {
+                tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+            }
+            return bin;
+        }
+    }
+
+    /**
+     * Bins grouped by remaining capacity, taking either the tightest bin that fits or the roomiest one.
+     */
+    private static final class TreeSelector implements BinSelector {
+        private final double[] remaining;
+        private final TreeMap<Double, ArrayDeque<Integer>> binsByRemaining = new TreeMap<>();
+        private final boolean roomiest;
+
+        TreeSelector(double[] remaining, boolean roomiest) {
+            this.remaining = remaining;
+            this.roomiest = roomiest;
+            for (int bin = 0; bin < remaining.length; bin++) {
+                binsByRemaining.computeIfAbsent(remaining[bin], key -> new ArrayDeque<>()).addLast(bin);
+            }
+        }
+
+        @Override
+        public int take(double weight) {
+            Map.Entry<Double, ArrayDeque<Integer>> entry = roomiest
+                    ? binsByRemaining.lastEntry()
+                    : binsByRemaining.ceilingEntry(weight - EPSILON);
+            if (entry == null || entry.getKey() + EPSILON < weight) {
+                return -1;
+            }
+            int bin = entry.getValue().pollFirst();
+            if (entry.getValue().isEmpty()) {
+                binsByRemaining.remove(entry.getKey());
+            }
+            remaining[bin] -= weight;
+            binsByRemaining.computeIfAbsent(remaining[bin], key -> new ArrayDeque<>()).addLast(bin);
+            return bin;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hitachi.drone.dispatch;
+
+import com.hitachi.drone.enums.PackingStrategy;
+
+/**
+ * Assignment of items to bins by one {@link PackingStrategy}, as the bin index of every item, or -1 when the
+ * item fits nowhere.
+ */
+public record PackingResult(PackingStrategy strategy, int[] binOfItem, int assignedItems, double assignedWeight,
+        int binsUsed) {
+}
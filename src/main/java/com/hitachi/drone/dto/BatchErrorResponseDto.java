@@ -0,0 +1,17 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchErrorResponseDto {
+    private String apiPath;
+    private Integer errorCode;
+    private String errorMessage;
+    private LocalDateTime errorTime;
+    private List<BatchItemErrorDto> itemErrors;
+}
@@ -0,0 +1,14 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchItemErrorDto {
+    private Integer index;
+    private String key;
+    private List<String> errors;
+}
@@ -0,0 +1,20 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Battery samples of a drone within one step of a history query, which starts at {@code start}.
+ */
+@Data
+@AllArgsConstructor
+public class BatteryHistoryPointDto {
+    private Instant start;
+    private Integer minBattery;
+    private Integer maxBattery;
+    private Double averageBattery;
+    private Integer lastBattery;
+    private Integer samples;
+}
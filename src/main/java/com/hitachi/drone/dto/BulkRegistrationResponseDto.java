@@ -0,0 +1,14 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkRegistrationResponseDto {
+    private Integer received;
+    private Integer registered;
+    private List<BatchItemErrorDto> rejected;
+}
@@ -0,0 +1,33 @@
+package com.hitachi.drone.dto;
+
+import com.hitachi.drone.entity.DeliveryOrder;
+import com.hitachi.drone.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A delivery order as returned by the API, without the claim of the worker processing it.
+ */
+@Data
+@AllArgsConstructor
+public class DeliveryOrderDto {
+    private Long id;
+    private Long droneId;
+    private String medicationName;
+    private Double medicationWeight;
+    private String medicationCode;
+    private OrderStatus status;
+    private Integer attempts;
+    private Instant nextAttemptAt;
+    private String lastError;
+    private Long loadedDroneId;
+    private Instant createdAt;
+
+    public static DeliveryOrderDto of(DeliveryOrder order) {
+        return new DeliveryOrderDto(order.getId(), order.getDroneId(), order.getMedicationName(),
+                order.getMedicationWeight(), order.getMedicationCode(), order.getStatus(), order.getAttempts(),
+                order.getNextAttemptAt(), order.getLastError(), order.getLoadedDroneId(), order.getCreatedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.hitachi.drone.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A medication to load, onto the given drone or, without one, onto any available drone.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryOrderRequestDto {
+    private Long droneId;
+
+    @Valid
+    @NotNull(message = "Medication cannot be null")
+    private OrderMedicationDto medication;
+}
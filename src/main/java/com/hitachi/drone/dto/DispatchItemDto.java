@@ -0,0 +1,22 @@
+package com.hitachi.drone.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A pending medication to place on a drone, identified by its code.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchItemDto {
+    @NotNull(message = "Code cannot be null")
+    private String code;
+
+    @NotNull(message = "Weight cannot be null")
+    @Positive(message = "Weight must be positive")
+    private Double weight;
+}
@@ -0,0 +1,20 @@
+package com.hitachi.drone.dto;
+
+import com.hitachi.drone.enums.PackingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A proposed assignment of medications to drones. Nothing is loaded; each assignment is carried out by loading
+ * the drone, which still rejects medications that no longer fit.
+ */
+@Data
+@AllArgsConstructor
+public class DispatchPlanDto {
+    private PackingStrategy strategy;
+    private Integer dronesConsidered;
+    private List<DroneAssignmentDto> assignments;
+    private List<String> unassigned;
+}
@@ -0,0 +1,29 @@
+package com.hitachi.drone.dto;
+
+import com.hitachi.drone.enums.PackingStrategy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Medications to plan onto the available drones. Without a strategy every strategy is tried, concurrently when
+ * {@code parallel} is set, and the best plan wins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchPlanRequestDto {
+    @NotEmpty(message = "Items cannot be empty")
+    @Size(max = 50000, message = "At most 50000 items can be planned at once")
+    private List<@NotNull @Valid DispatchItemDto> items;
+
+    private PackingStrategy strategy;
+
+    private Boolean parallel;
+}
@@ -0,0 +1,16 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DroneAssignmentDto {
+    private Long droneId;
+    private String serialNumber;
+    private List<String> codes;
+    private Double assignedWeight;
+    private Double remainingCapacity;
+}
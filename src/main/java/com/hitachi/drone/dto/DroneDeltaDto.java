@@ -0,0 +1,19 @@
+package com.hitachi.drone.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hitachi.drone.enums.DroneState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The changes of one drone since the last push to a subscriber. Fields that did not change are left out.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DroneDeltaDto {
+    private Long droneId;
+    private DroneState state;
+    private Integer batteryCapacity;
+    private Double loadedWeight;
+}
@@ -0,0 +1,27 @@
+package com.hitachi.drone.dto;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A drone as returned by the API, without its medications or version.
+ */
+@Data
+@AllArgsConstructor
+public class DroneDto {
+    private Long id;
+    private String serialNumber;
+    private DroneModel model;
+    private Double weightLimit;
+    private Double loadedWeight;
+    private Integer batteryCapacity;
+    private DroneState state;
+
+    public static DroneDto of(Drone drone) {
+        return new DroneDto(drone.getId(), drone.getSerialNumber(), drone.getModel(), drone.getWeightLimit(),
+                drone.getLoadedWeight(), drone.getBatteryCapacity(), drone.getState());
+    }
+}
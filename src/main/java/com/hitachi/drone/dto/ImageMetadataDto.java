@@ -0,0 +1,7 @@
+package com.hitachi.drone.dto;
+
+/**
+ * Name and content type of a medication's image, as sent with the image bytes.
+ */
+public record ImageMetadataDto(String imageName, String imageType) {
+}
@@ -0,0 +1,17 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated listing. Pass {@code nextAfterId} back as {@code afterId} to fetch the
+ * next page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+    private List<T> items;
+    private Long nextAfterId;
+}
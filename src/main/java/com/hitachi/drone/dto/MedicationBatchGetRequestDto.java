@@ -0,0 +1,19 @@
+package com.hitachi.drone.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicationBatchGetRequestDto {
+    @NotEmpty(message = "Drone ids cannot be empty")
+    @Size(max = 10000, message = "At most 10000 drones can be requested at once")
+    private List<@NotNull Long> droneIds;
+}
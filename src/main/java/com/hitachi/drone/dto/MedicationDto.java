@@ -0,0 +1,25 @@
+package com.hitachi.drone.dto;
+
+import com.hitachi.drone.entity.Medication;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A loaded medication as returned by the API, with the drone carrying it. The image is served on its own.
+ */
+@Data
+@AllArgsConstructor
+public class MedicationDto {
+    private Long id;
+    private String name;
+    private Double weight;
+    private String code;
+    private String imageName;
+    private String imageType;
+    private DroneDto drone;
+
+    public static MedicationDto of(Medication medication, DroneDto drone) {
+        return new MedicationDto(medication.getId(), medication.getName(), medication.getWeight(),
+                medication.getCode(), medication.getImageName(), medication.getImageType(), drone);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderIntakeResponseDto {
+    private Integer accepted;
+    private List<Long> orderIds;
+}
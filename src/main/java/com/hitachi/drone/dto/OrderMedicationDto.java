@@ -0,0 +1,37 @@
+package com.hitachi.drone.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The medication of a delivery order. Orders store no image; a medication with one is loaded directly.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderMedicationDto {
+    @NotNull(message = "Name cannot be null")
+    @Pattern(regexp = "^[a-zA-Z0-9-_]+$", message = "Invalid name format")
+    private String name;
+
+    @NotNull(message = "Weight cannot be null")
+    @Positive(message = "Weight must be positive")
+    private Double weight;
+
+    @NotNull(message = "Code cannot be null")
+    @Pattern(regexp = "^[A-Z0-9_]+$", message = "Invalid code format")
+    private String code;
+
+    // Accepted only to be rejected, rather than dropped without the client noticing
+    @Null(message = "Orders cannot carry an image, load the drone directly")
+    private byte[] imageData;
+
+    public OrderMedicationDto(String name, Double weight, String code) {
+        this(name, weight, code, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One battery report sent by a drone.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TelemetryReportDto {
+    private Long droneId;
+    private Integer batteryCapacity;
+}
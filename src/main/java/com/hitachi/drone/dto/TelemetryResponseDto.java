@@ -0,0 +1,11 @@
+package com.hitachi.drone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TelemetryResponseDto {
+    private Integer received;
+    private Integer accepted;
+}
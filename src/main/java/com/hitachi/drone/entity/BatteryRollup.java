@@ -0,0 +1,35 @@
+package com.hitachi.drone.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Battery samples of one drone aggregated over one bucket of a {@link com.hitachi.drone.enums.RollupResolution}.
+ * The sum and count are kept rather than the average, so buckets can be merged into coarser steps exactly.
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "battery_rollup")
+public class BatteryRollup {
+    @EmbeddedId
+    private BatteryRollupId id;
+
+    @Column(name = "min_battery")
+    private Integer minBattery;
+
+    @Column(name = "max_battery")
+    private Integer maxBattery;
+
+    @Column(name = "battery_sum")
+    private Long batterySum;
+
+    @Column(name = "samples")
+    private Integer samples;
+
+    @Column(name = "last_battery")
+    private Integer lastBattery;
+}
@@ -0,0 +1,29 @@
+package com.hitachi.drone.entity;
+
+import com.hitachi.drone.enums.RollupResolution;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatteryRollupId implements Serializable {
+    @Column(name = "drone_id")
+    private Long droneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution")
+    private RollupResolution resolution;
+
+    @Column(name = "bucket_start")
+    private Instant bucketStart;
+}
@@ -0,0 +1,61 @@
+package com.hitachi.drone.entity;
+
+import com.hitachi.drone.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A medication waiting to be loaded onto a drone by the order workers, either onto the requested drone or onto
+ * any available one.
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "delivery_order",
+        indexes = @Index(name = "idx_delivery_order_status", columnList = "status, next_attempt_at"))
+public class DeliveryOrder {
+    // Pooled sequence ids, so a burst of orders is inserted as JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_order_seq")
+    @SequenceGenerator(name = "delivery_order_seq", sequenceName = "delivery_order_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "drone_id")
+    private Long droneId;
+
+    @Column(name = "medication_name")
+    private String medicationName;
+
+    @Column(name = "medication_weight")
+    private Double medicationWeight;
+
+    @Column(name = "medication_code")
+    private String medicationCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "loaded_drone_id")
+    private Long loadedDroneId;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
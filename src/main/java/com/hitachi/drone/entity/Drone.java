@@ -1,5 +1,7 @@
 package com.hitachi.drone.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.hitachi.drone.enums.DroneModel;
 import com.hitachi.drone.enums.DroneState;
 import jakarta.persistence.*;
@@ -8,6 +10,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
@@ -17,10 +21,14 @@ import java.util.List;
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "drone")
+// Only changed columns are written, so a load or dispatch never writes back a battery level telemetry has updated
+@DynamicUpdate
+@Table(name = "drone", indexes = @Index(name = "idx_drone_state_battery", columnList = "state, battery_capacity"))
 public class Drone {
+    // Pooled sequence ids, so bulk registration can be sent as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "drone_seq")
+    @SequenceGenerator(name = "drone_seq", sequenceName = "drone_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Serial number cannot be null")
@@ -36,6 +44,13 @@ public class Drone {
     @Column(name = "weight_limit")
     private Double weightLimit;
 
+    // Kept with every load and reset on arrival, so capacity checks never sum the medication rows. Never
+    // taken from a request
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(name = "loaded_weight", nullable = false)
+    private Double loadedWeight = 0.0;
+
     @Min(value = 0, message = "Battery capacity cannot be less than 0")
     @Max(value = 100, message = "Battery capacity cannot be greater that 100")
     @NotNull(message = "Battery capacity cannot be null")
@@ -47,6 +62,12 @@ public class Drone {
     @Column(name = "state")
     private DroneState state;
 
+    // Bumped on every load so concurrent loads of the same drone are detected at commit
+    @Version
+    @JsonIgnore
+    @Column(name = "version")
+    private Long version;
+
     @OneToMany(mappedBy = "drone")
     private List<Medication> medications;
 }
@@ -1,6 +1,7 @@
 package com.hitachi.drone.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -13,11 +14,13 @@ import lombok.*;
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "medication")
+@Table(name = "medication", indexes = @Index(name = "idx_medication_drone", columnList = "drone_id, id"))
 public class Medication {
 
+    // Pooled sequence ids (IDENTITY would force one round trip per insert and disable JDBC batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medication_seq")
+    @SequenceGenerator(name = "medication_seq", sequenceName = "medication_seq", allocationSize = 50)
     private Long id;
 
     @Pattern(regexp = "^[a-zA-Z0-9-_]+$", message = "Invalid name format")
@@ -37,8 +40,10 @@ public class Medication {
     @Column(name = "image_name")
     private String imageName;
 
-    @Lob
-    @Column(name = "image_data", columnDefinition = "BLOB")
+    // Only used to receive the image on load; the bytes live in MedicationImage and are never read back here
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
     private byte[] imageData;
 
     @Column(name = "image_type")
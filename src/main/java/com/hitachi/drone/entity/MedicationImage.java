@@ -0,0 +1,30 @@
+package com.hitachi.drone.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.sql.Blob;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "medication_image")
+public class MedicationImage {
+
+    @Id
+    @Column(name = "medication_id")
+    private Long medicationId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "medication_id")
+    private Medication medication;
+
+    // Kept as a Blob locator so the bytes are streamed from the database instead of copied onto the heap
+    @Lob
+    @Column(name = "image_data", columnDefinition = "BLOB")
+    private Blob imageData;
+
+}
@@ -0,0 +1,10 @@
+package com.hitachi.drone.enums;
+
+public enum OrderStatus {
+    // Waiting for a worker, no earlier than its next attempt time
+    PENDING,
+    // Held by a worker until its claim expires
+    CLAIMED,
+    LOADED,
+    FAILED
+}
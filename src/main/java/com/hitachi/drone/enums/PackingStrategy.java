@@ -0,0 +1,13 @@
+package com.hitachi.drone.enums;
+
+/**
+ * Heuristics for packing medications onto drones. Each places the heaviest remaining item first.
+ */
+public enum PackingStrategy {
+    // Leftmost drone (in id order) with room for the item
+    FIRST_FIT_DECREASING,
+    // Drone left with the least room after taking the item, which keeps large gaps for large items
+    BEST_FIT_DECREASING,
+    // Drone with the most room, which spreads the load across the fleet
+    WORST_FIT_DECREASING
+}
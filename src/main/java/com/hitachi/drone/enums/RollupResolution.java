@@ -0,0 +1,22 @@
+package com.hitachi.drone.enums;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public enum RollupResolution {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1));
+
+    private final Duration bucket;
+
+    RollupResolution(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public long bucketStart(long epochMillis) {
+        long bucketMillis = bucket.toMillis();
+        return Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+}
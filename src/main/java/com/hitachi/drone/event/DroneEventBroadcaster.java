@@ -0,0 +1,111 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.dto.DroneDeltaDto;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.fleet.FleetStateIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes committed drone state, battery and load changes to Server-Sent Event subscribers.
+ * <p>
+ * Producers only merge their change into the pending deltas of each matching subscriber and never wait on a
+ * client. Every {@code drone.events.flush-ms} the pending deltas are pushed as one {@code drones} event per
+ * subscriber, on the application task executor; a subscriber whose previous push is still being written is
+ * skipped and keeps coalescing. Changes that do not fit a full buffer are counted and announced with a
+ * {@code dropped} event, after which the client should re-read the drones it watches.
+ */
+@Component
+public class DroneEventBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(DroneEventBroadcaster.class);
+
+    private final List<DroneEventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final FleetStateIndex fleetStateIndex;
+    private final TaskExecutor taskExecutor;
+    private final int maxPending;
+    private final long timeoutMillis;
+
+    public DroneEventBroadcaster(FleetStateIndex fleetStateIndex,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            @Value("${drone.events.max-pending:10000}") int maxPending,
+            @Value("${drone.events.timeout-ms:1800000}") long timeoutMillis) {
+        this.fleetStateIndex = fleetStateIndex;
+        this.taskExecutor = taskExecutor;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Subscribes to the changes of the given drones, or of drones in the given states; an empty set does not
+     * filter.
+     */
+    public SseEmitter subscribe(Set<Long> droneIds, Set<DroneState> states) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        DroneEventSubscription subscription = new DroneEventSubscription(emitter, droneIds, states, maxPending);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        for (DroneEventSubscription subscription : subscriptions) {
+            subscription.offer(event, fleetStateIndex::peekState);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${drone.events.flush-ms:500}")
+    public void flush() {
+        for (DroneEventSubscription subscription : subscriptions) {
+            if (subscription.hasPending() && subscription.startSending()) {
+                try {
+                    taskExecutor.execute(() -> push(subscription));
+                } catch (TaskRejectedException exception) {
+                    // Pushed again on the next flush, with whatever has been coalesced meanwhile
+                    subscription.finishSending();
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void push(DroneEventSubscription subscription) {
+        try {
+            long dropped = subscription.drainDropped();
+            if (dropped > 0) {
+                subscription.getEmitter().send(SseEmitter.event().name("dropped").data(Map.of("dropped", dropped)));
+            }
+            List<DroneDeltaDto> deltas = subscription.drainPending();
+            if (!deltas.isEmpty()) {
+                subscription.getEmitter().send(SseEmitter.event().name("drones").data(deltas));
+            }
+        } catch (IOException | IllegalStateException exception) {
+            // The client is gone, or the emitter has already completed
+            logger.debug("Dropping drone event subscriber", exception);
+            subscriptions.remove(subscription);
+            subscription.getEmitter().completeWithError(exception);
+        } finally {
+            subscription.finishSending();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.dto.DroneDeltaDto;
+import com.hitachi.drone.enums.DroneState;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * One dashboard connection. Changes are coalesced per drone until the next push, so a subscriber never holds
+ * more than one pending delta per drone, and never more than {@code maxPending} drones in total. An empty
+ * drone id or state filter does not filter.
+ */
+class DroneEventSubscription {
+    @Getter
+    private final SseEmitter emitter;
+    private final Set<Long> droneIds;
+    private final Set<DroneState> states;
+    private final int maxPending;
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    // Guarded by this
+    private Map<Long, DroneDeltaDto> pending = new LinkedHashMap<>();
+    private final Set<Long> inWatchedState = new HashSet<>();
+    private long dropped;
+
+    DroneEventSubscription(SseEmitter emitter, Set<Long> droneIds, Set<DroneState> states, int maxPending) {
+        this.emitter = emitter;
+        this.droneIds = droneIds;
+        this.states = states;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Queues the change if this subscriber watches the drone. With a state filter, that is a change that leaves
+     * the drone in a watched state, or moves a drone this subscriber last saw in one out of it.
+     */
+    synchronized void offer(DroneStateChangedEvent event, Function<Long, Optional<DroneState>> lastKnownState) {
+        Long droneId = event.getDroneId();
+        if (!droneIds.isEmpty() && !droneIds.contains(droneId)) {
+            return;
+        }
+        if (!states.isEmpty() && !watchesStateOf(droneId, event.getState(), lastKnownState)) {
+            return;
+        }
+
+        DroneDeltaDto delta = pending.get(droneId);
+        if (delta == null) {
+            if (pending.size() >= maxPending) {
+                dropped++;
+                return;
+            }
+            pending.put(droneId, new DroneDeltaDto(droneId, event.getState(), event.getBatteryCapacity(),
+                    event.getLoadedWeight()));
+            return;
+        }
+        if (event.getState() != null) {
+            delta.setState(event.getState());
+        }
+        if (event.getBatteryCapacity() != null) {
+            delta.setBatteryCapacity(event.getBatteryCapacity());
+        }
+        if (event.getLoadedWeight() != null) {
+            delta.setLoadedWeight(event.getLoadedWeight());
+        }
+    }
+
+    synchronized boolean hasPending() {
+        return !pending.isEmpty() || dropped > 0;
+    }
+
+    synchronized List<DroneDeltaDto> drainPending() {
+        List<DroneDeltaDto> deltas = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        return deltas;
+    }
+
+    synchronized long drainDropped() {
+        long count = dropped;
+        dropped = 0;
+        return count;
+    }
+
+    /**
+     * Claims the subscriber for one push, so a slow client is never pushed to from two threads at once.
+     */
+    boolean startSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void finishSending() {
+        sending.set(false);
+    }
+
+    private boolean watchesStateOf(Long droneId, DroneState newState,
+            Function<Long, Optional<DroneState>> lastKnownState) {
+        if (newState == null) {
+            // A change that does not move the drone keeps the state it already has
+            if (inWatchedState.contains(droneId)) {
+                return true;
+            }
+            newState = lastKnownState.apply(droneId).orElse(null);
+        }
+        if (states.contains(newState)) {
+            inWatchedState.add(droneId);
+            return true;
+        }
+        return inWatchedState.remove(droneId);
+    }
+}
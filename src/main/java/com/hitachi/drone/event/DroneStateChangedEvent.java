@@ -0,0 +1,20 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.enums.DroneState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published whenever a drone's state, battery or load changes. A null field means the value did not change.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DroneStateChangedEvent {
+    private final Long droneId;
+    private final DroneState state;
+    private final Integer batteryCapacity;
+    private final Double weightLimit;
+    private final Double loadedWeight;
+}
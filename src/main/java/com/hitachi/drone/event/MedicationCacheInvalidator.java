@@ -0,0 +1,23 @@
+package com.hitachi.drone.event;
+
+import com.hitachi.drone.config.CacheNames;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cached medications of a drone once a change to it commits: a registration, load, dispatch or
+ * timed transition. Battery reports leave the cache alone, the battery is read from the fleet index when the
+ * medications are served. A read that started before the commit may still cache the old list afterwards,
+ * which the cache's expiry bounds.
+ */
+@Component
+public class MedicationCacheInvalidator {
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheNames.DRONE_MEDICATIONS, key = "#event.droneId",
+            condition = "#event.state != null || #event.weightLimit != null || #event.loadedWeight != null")
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        // Evicted by the annotation
+    }
+}
@@ -0,0 +1,16 @@
+package com.hitachi.drone.exceptions;
+
+import com.hitachi.drone.dto.BatchItemErrorDto;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchValidationException extends RuntimeException {
+    private final List<BatchItemErrorDto> itemErrors;
+
+    public BatchValidationException(String message, List<BatchItemErrorDto> itemErrors) {
+        super(message);
+        this.itemErrors = itemErrors;
+    }
+}
@@ -2,6 +2,10 @@ package com.hitachi.drone.exceptions;
 
 public class BatteryLowException extends RuntimeException {
     public BatteryLowException() {
-        super("Drone cannot be loaded, battery below 25%");
+        this("be loaded");
+    }
+
+    public BatteryLowException(String action) {
+        super(String.format("Drone cannot %s, battery below 25%%", action));
     }
 }
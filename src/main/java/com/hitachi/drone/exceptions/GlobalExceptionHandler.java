@@ -1,8 +1,13 @@
 package com.hitachi.drone.exceptions;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.hitachi.drone.dto.BatchErrorResponseDto;
 import com.hitachi.drone.dto.ErrorResponseDto;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
@@ -30,11 +35,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 HttpStatus.NOT_FOUND.value(),
                 exception.getMessage(),
                 LocalDateTime.now());
-        return new ResponseEntity<>(errorResponseDto, HttpStatus.NOT_FOUND);
+        // Set explicitly, so clients that only accept a stream such as NDJSON still get the error as JSON
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponseDto);
     }
 
-    @ExceptionHandler({ OverloadException.class, BatteryLowException.class })
-    public ResponseEntity<ErrorResponseDto> handleBadRequestException(RuntimeException exception, WebRequest request) {
+    @ExceptionHandler({ OverloadException.class, BatteryLowException.class, InvalidRangeException.class })
+    public ResponseEntity<ErrorResponseDto> handleBadRequestException(Exception exception, WebRequest request) {
         ErrorResponseDto errorResponseDto = new ErrorResponseDto(
                 request.getDescription(false),
                 HttpStatus.BAD_REQUEST.value(),
@@ -43,6 +50,65 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
     }
 
+    // A line of a streamed body that does not parse; the parser's message echoes the input and its internals
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<ErrorResponseDto> handleJsonProcessingException(JsonProcessingException exception,
+            WebRequest request) {
+        logger.warn("Malformed request body on " + request.getDescription(false) + ": " + exception.getMessage());
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                request.getDescription(false),
+                HttpStatus.BAD_REQUEST.value(),
+                "Malformed request body",
+                LocalDateTime.now());
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<BatchErrorResponseDto> handleBatchValidationException(BatchValidationException exception,
+            WebRequest request) {
+        BatchErrorResponseDto errorResponseDto = new BatchErrorResponseDto(
+                request.getDescription(false),
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                LocalDateTime.now(),
+                exception.getItemErrors());
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException exception, WebRequest request) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                request.getDescription(false),
+                HttpStatus.CONFLICT.value(),
+                "Drone was modified concurrently, please retry",
+                LocalDateTime.now());
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidStateTransitionException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidStateTransitionException(
+            InvalidStateTransitionException exception, WebRequest request) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                request.getDescription(false),
+                HttpStatus.CONFLICT.value(),
+                exception.getMessage(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.CONFLICT);
+    }
+
+    // A unique key hit by a concurrent request between the duplicate check and the insert
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDto> handleDataIntegrityViolationException(
+            DataIntegrityViolationException exception, WebRequest request) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                request.getDescription(false),
+                HttpStatus.CONFLICT.value(),
+                "Request conflicts with data stored concurrently, please retry",
+                LocalDateTime.now());
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.CONFLICT);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
             HttpHeaders headers,
@@ -0,0 +1,7 @@
+package com.hitachi.drone.exceptions;
+
+public class InvalidRangeException extends RuntimeException {
+    public InvalidRangeException(Object from, Object to) {
+        super(String.format("Invalid range, from '%s' must be before to '%s'", from, to));
+    }
+}
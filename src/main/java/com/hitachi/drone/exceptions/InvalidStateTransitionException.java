@@ -0,0 +1,13 @@
+package com.hitachi.drone.exceptions;
+
+import com.hitachi.drone.enums.DroneState;
+
+public class InvalidStateTransitionException extends RuntimeException {
+    public InvalidStateTransitionException(String transition, DroneState state) {
+        super(String.format("Drone cannot %s while %s", transition, state));
+    }
+
+    public InvalidStateTransitionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hitachi.drone.exceptions;
+
+public class NoDroneAvailableException extends RuntimeException {
+    public NoDroneAvailableException(Double weight) {
+        super(String.format("No available drone can take a load of %s", weight));
+    }
+}
@@ -0,0 +1,40 @@
+package com.hitachi.drone.fleet;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable snapshot of the fields the dispatch endpoints poll for a single drone.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FleetEntry {
+    private final DroneState state;
+    private final int batteryCapacity;
+    private final double weightLimit;
+    private final double loadedWeight;
+    private final long updatedAtMillis;
+
+    public static FleetEntry of(Drone drone, double loadedWeight) {
+        return new FleetEntry(drone.getState(), drone.getBatteryCapacity(), drone.getWeightLimit(), loadedWeight,
+                System.currentTimeMillis());
+    }
+
+    public double getRemainingCapacity() {
+        return weightLimit - loadedWeight;
+    }
+
+    FleetEntry merge(DroneStateChangedEvent event) {
+        return new FleetEntry(
+                event.getState() != null ? event.getState() : state,
+                event.getBatteryCapacity() != null ? event.getBatteryCapacity() : batteryCapacity,
+                event.getWeightLimit() != null ? event.getWeightLimit() : weightLimit,
+                event.getLoadedWeight() != null ? event.getLoadedWeight() : loadedWeight,
+                System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,131 @@
+package com.hitachi.drone.fleet;
+
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-through, in-memory view of drone state, battery and load, keyed by drone id.
+ * <p>
+ * Entries are refreshed from {@link DroneStateChangedEvent}s once the publishing transaction commits, so
+ * rolled back changes never become visible. A snapshot read from the database on a miss is only indexed when no
+ * change committed while it was read, see {@link #changeStamp()}. Entries older than
+ * {@code drone.fleet-index.max-age-ms} are treated as misses, which bounds staleness for changes made outside
+ * this process.
+ */
+@Component
+public class FleetStateIndex {
+    private final Map<Long, FleetEntry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder servedAgeMillis = new LongAdder();
+    private final AtomicLong changes = new AtomicLong();
+    private final long maxAgeMillis;
+
+    public FleetStateIndex(@Value("${drone.fleet-index.max-age-ms:60000}") long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public Optional<FleetEntry> find(Long droneId) {
+        FleetEntry entry = entries.get(droneId);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        long age = System.currentTimeMillis() - entry.getUpdatedAtMillis();
+        if (age > maxAgeMillis) {
+            entries.remove(droneId, entry);
+            expirations.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        servedAgeMillis.add(age);
+        return Optional.of(entry);
+    }
+
+    /**
+     * Last known state of a drone, whatever its age, without counting as a lookup.
+     */
+    public Optional<DroneState> peekState(Long droneId) {
+        return Optional.ofNullable(entries.get(droneId)).map(FleetEntry::getState);
+    }
+
+    /**
+     * Number of committed changes seen so far. Taken before reading a snapshot from the database and passed to
+     * {@link #put}, so a snapshot that may predate a change is dropped rather than indexed. Any drone's change
+     * counts, which drops a few snapshots needlessly but keeps nothing per drone outside the entries.
+     */
+    public long changeStamp() {
+        return changes.get();
+    }
+
+    public void put(Long droneId, FleetEntry entry, long readStamp) {
+        // An entry written by a committed change wins over a concurrently read snapshot, and a snapshot read
+        // while a change committed is dropped, even if the change itself could not be indexed
+        entries.compute(droneId, (id, current) -> current != null || changes.get() != readStamp ? current : entry);
+    }
+
+    public void evict(Long droneId) {
+        entries.remove(droneId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        // Counted before the entry is updated, so a snapshot put after this point sees the change
+        changes.incrementAndGet();
+        entries.compute(event.getDroneId(), (droneId, entry) -> {
+            if (entry != null) {
+                return entry.merge(event);
+            }
+            // Without a previous entry only a complete event can be indexed
+            if (event.getState() == null || event.getBatteryCapacity() == null
+                    || event.getWeightLimit() == null || event.getLoadedWeight() == null) {
+                return null;
+            }
+            return new FleetEntry(event.getState(), event.getBatteryCapacity(), event.getWeightLimit(),
+                    event.getLoadedWeight(), System.currentTimeMillis());
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Average age of the entries served from the index, in milliseconds.
+     */
+    public double getAverageServedAgeMillis() {
+        long hitCount = hits.sum();
+        return hitCount == 0 ? 0 : (double) servedAgeMillis.sum() / hitCount;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hitachi.drone.history;
+
+import com.hitachi.drone.entity.BatteryRollup;
+import com.hitachi.drone.enums.RollupResolution;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.repository.BatteryRollupRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every committed battery change as a sample, aggregated in memory per drone and minute. Events that
+ * leave the battery as it was carry no battery level and are not sampled.
+ * <p>
+ * Minutes that have passed are written on the next flush, both as a minute rollup and merged into the rollup
+ * of their hour, so no raw samples are ever stored and the history lags by at most a minute and a flush.
+ * Rollups older than their retention are deleted.
+ */
+@Component
+public class BatteryHistoryRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(BatteryHistoryRecorder.class);
+
+    private final Map<BucketKey, RollupAccumulator> openMinutes = new ConcurrentHashMap<>();
+    private final BatteryRollupRepository batteryRollupRepository;
+    private final Duration minuteRetention;
+    private final Duration hourRetention;
+
+    public BatteryHistoryRecorder(BatteryRollupRepository batteryRollupRepository,
+            @Value("${drone.history.minute-retention:P7D}") Duration minuteRetention,
+            @Value("${drone.history.hour-retention:P365D}") Duration hourRetention) {
+        this.batteryRollupRepository = batteryRollupRepository;
+        this.minuteRetention = minuteRetention;
+        this.hourRetention = hourRetention;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        if (event.getBatteryCapacity() != null) {
+            record(event.getDroneId(), event.getBatteryCapacity(), System.currentTimeMillis());
+        }
+    }
+
+    public void record(Long droneId, int batteryCapacity, long atMillis) {
+        BucketKey key = new BucketKey(droneId, RollupResolution.MINUTE.bucketStart(atMillis));
+        openMinutes.compute(key, (k, minute) -> minute == null
+                ? new RollupAccumulator(batteryCapacity)
+                : minute.add(batteryCapacity));
+    }
+
+    @Scheduled(fixedDelayString = "${drone.history.flush-ms:10000}")
+    public void flush() {
+        flush(System.currentTimeMillis());
+    }
+
+    /**
+     * Writes the minutes that started before the minute of {@code nowMillis}, and returns how many.
+     */
+    public int flush(long nowMillis) {
+        long currentMinute = RollupResolution.MINUTE.bucketStart(nowMillis);
+        Map<BucketKey, RollupAccumulator> minutes = new LinkedHashMap<>();
+        Map<BucketKey, RollupAccumulator> hours = new LinkedHashMap<>();
+
+        // Closed minutes are removed one by one, so a sample arriving meanwhile opens a new bucket that is merged
+        // into the stored one later
+        openMinutes.keySet().stream()
+                .filter(key -> key.bucketStart() < currentMinute)
+                .sorted((a, b) -> Long.compare(a.bucketStart(), b.bucketStart()))
+                .forEach(key -> {
+                    RollupAccumulator minute = openMinutes.remove(key);
+                    if (minute != null) {
+                        minutes.put(key, minute);
+                        hours.merge(new BucketKey(key.droneId(),
+                                        RollupResolution.HOUR.bucketStart(key.bucketStart())),
+                                minute.copy(), RollupAccumulator::merge);
+                    }
+                });
+        if (minutes.isEmpty()) {
+            return 0;
+        }
+        List<BatteryRollup> rollups = new ArrayList<>();
+        minutes.forEach((key, minute) -> rollups.add(minute.toRollup(key.droneId(), RollupResolution.MINUTE,
+                key.bucketStart())));
+        hours.forEach((key, hour) -> rollups.add(hour.toRollup(key.droneId(), RollupResolution.HOUR,
+                key.bucketStart())));
+        try {
+            batteryRollupRepository.mergeRollups(rollups);
+        } catch (RuntimeException exception) {
+            // Nothing was written, so the minutes go back to be written on the next flush, ahead of any sample
+            // that arrived meanwhile
+            minutes.forEach((key, minute) -> openMinutes.merge(key, minute,
+                    (later, earlier) -> earlier.merge(later)));
+            throw exception;
+        }
+        return minutes.size();
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${drone.history.retention-check-ms:3600000}")
+    public void deleteExpiredRollups() {
+        Instant now = Instant.now();
+        int deleted = batteryRollupRepository.deleteOlderThan(RollupResolution.MINUTE, now.minus(minuteRetention))
+                + batteryRollupRepository.deleteOlderThan(RollupResolution.HOUR, now.minus(hourRetention));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired battery rollups", deleted);
+        }
+    }
+
+    public Duration getMinuteRetention() {
+        return minuteRetention;
+    }
+
+    private record BucketKey(Long droneId, long bucketStart) {
+    }
+}
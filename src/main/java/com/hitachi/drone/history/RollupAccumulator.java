@@ -0,0 +1,60 @@
+package com.hitachi.drone.history;
+
+import com.hitachi.drone.entity.BatteryRollup;
+import com.hitachi.drone.entity.BatteryRollupId;
+import com.hitachi.drone.enums.RollupResolution;
+
+import java.time.Instant;
+
+/**
+ * Running aggregate of the battery samples of one drone in one bucket. Not thread-safe; samples are added
+ * under the lock of the map entry holding it.
+ */
+class RollupAccumulator {
+    private int minBattery;
+    private int maxBattery;
+    private long batterySum;
+    private int samples;
+    private int lastBattery;
+
+    RollupAccumulator(int battery) {
+        minBattery = battery;
+        maxBattery = battery;
+        batterySum = battery;
+        samples = 1;
+        lastBattery = battery;
+    }
+
+    RollupAccumulator add(int battery) {
+        minBattery = Math.min(minBattery, battery);
+        maxBattery = Math.max(maxBattery, battery);
+        batterySum += battery;
+        samples++;
+        lastBattery = battery;
+        return this;
+    }
+
+    // The other accumulator covers later samples
+    RollupAccumulator merge(RollupAccumulator later) {
+        minBattery = Math.min(minBattery, later.minBattery);
+        maxBattery = Math.max(maxBattery, later.maxBattery);
+        batterySum += later.batterySum;
+        samples += later.samples;
+        lastBattery = later.lastBattery;
+        return this;
+    }
+
+    RollupAccumulator copy() {
+        RollupAccumulator copy = new RollupAccumulator(lastBattery);
+        copy.minBattery = minBattery;
+        copy.maxBattery = maxBattery;
+        copy.batterySum = batterySum;
+        copy.samples = samples;
+        return copy;
+    }
+
+    BatteryRollup toRollup(Long droneId, RollupResolution resolution, long bucketStart) {
+        return new BatteryRollup(new BatteryRollupId(droneId, resolution, Instant.ofEpochMilli(bucketStart)),
+                minBattery, maxBattery, batterySum, samples, lastBattery);
+    }
+}
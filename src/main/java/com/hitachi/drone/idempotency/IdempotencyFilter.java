@@ -0,0 +1,148 @@
+package com.hitachi.drone.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hitachi.drone.dto.ErrorResponseDto;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Makes retried registrations and loads safe. The response to the first request carrying an
+ * {@value #IDEMPOTENCY_KEY} header is kept, and a retry with the same key and body gets that response back
+ * without reaching the controller, so nothing is validated, read or inserted again.
+ * <p>
+ * Keys are scoped to the request path and kept for {@code drone.idempotency.ttl}, up to
+ * {@code drone.idempotency.max-keys} of them. Server errors and conflicts are not kept, so those requests can be
+ * retried with the same key. Reusing a key with a different body is rejected, and so is a retry arriving while
+ * the first request is still being handled.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> IDEMPOTENT_PATHS = List.of("/api/drones/register", "/api/drones/{id}/load",
+            "/api/drones/{id}/load/batch");
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, IdempotentResponse> responses;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(ObjectMapper objectMapper,
+            @Value("${drone.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${drone.idempotency.max-keys:100000}") long maxKeys) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    String.format("%s must have 1 to %d characters", IDEMPOTENCY_KEY, MAX_KEY_LENGTH));
+            return;
+        }
+        String key = request.getRequestURI() + " " + idempotencyKey;
+
+        IdempotentResponse stored = responses.asMap().putIfAbsent(key, IdempotentResponse.IN_PROGRESS);
+        if (stored == IdempotentResponse.IN_PROGRESS) {
+            writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with this " + IDEMPOTENCY_KEY + " is still being processed");
+        } else if (stored != null) {
+            replay(request, response, stored);
+        } else {
+            handleFirst(request, response, chain, key);
+        }
+    }
+
+    private void handleFirst(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+            String key) throws ServletException, IOException {
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean kept = false;
+        try {
+            chain.doFilter(cachingRequest, cachingResponse);
+            // The digest covers the whole body, including anything the controller left unread
+            StreamUtils.drain(cachingRequest.getInputStream());
+            int status = cachingResponse.getStatus();
+            if (status < HttpStatus.INTERNAL_SERVER_ERROR.value() && status != HttpStatus.CONFLICT.value()) {
+                responses.put(key, new IdempotentResponse(digest(cachingRequest.getContentAsByteArray()), status,
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                kept = true;
+            }
+        } finally {
+            if (!kept) {
+                responses.asMap().remove(key, IdempotentResponse.IN_PROGRESS);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, IdempotentResponse stored)
+            throws IOException {
+        if (!MessageDigest.isEqual(stored.requestDigest(), digest(StreamUtils.copyToByteArray(
+                request.getInputStream())))) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY + " was already used for a different request");
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto("uri=" + request.getRequestURI(),
+                status.value(), message, LocalDateTime.now()));
+    }
+
+    private static byte[] digest(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
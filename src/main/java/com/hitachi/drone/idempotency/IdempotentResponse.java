@@ -0,0 +1,10 @@
+package com.hitachi.drone.idempotency;
+
+/**
+ * A completed response stored under its idempotency key, with the SHA-256 digest of the request body that
+ * produced it.
+ */
+record IdempotentResponse(byte[] requestDigest, int status, String contentType, byte[] body) {
+    // Marks a key whose first request is still being handled
+    static final IdempotentResponse IN_PROGRESS = new IdempotentResponse(new byte[0], 0, null, new byte[0]);
+}
@@ -0,0 +1,70 @@
+package com.hitachi.drone.lifecycle;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.exceptions.InvalidStateTransitionException;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Every way a drone may change state. LOAD and DISPATCH are requested through the API and checked against
+ * their guards; the timed transitions are applied by the scheduler once their delay has passed.
+ */
+@Getter
+public enum DroneTransition {
+    LOAD("be loaded", EnumSet.of(DroneState.IDLE, DroneState.LOADING, DroneState.LOADED), DroneState.LOADED,
+            false, 0, List.of(TransitionGuard.SUFFICIENT_BATTERY, TransitionGuard.WITHIN_WEIGHT_LIMIT)),
+    DISPATCH("be dispatched", EnumSet.of(DroneState.LOADED), DroneState.DELIVERING,
+            false, 0, List.of(TransitionGuard.SUFFICIENT_BATTERY, TransitionGuard.HAS_LOAD)),
+    // The medications are handed over on arrival, which empties the drone
+    ARRIVE("arrive", EnumSet.of(DroneState.DELIVERING), DroneState.DELIVERED, true, 0, List.of()),
+    // Assume every delivery, battery consumes 10%
+    RETURN("return", EnumSet.of(DroneState.DELIVERED), DroneState.RETURNING, true, 10, List.of()),
+    DOCK("dock", EnumSet.of(DroneState.RETURNING), DroneState.IDLE, true, 0, List.of());
+
+    private final String action;
+    private final Set<DroneState> from;
+    private final DroneState to;
+    private final boolean timed;
+    private final int batteryCost;
+    private final List<TransitionGuard> guards;
+
+    DroneTransition(String action, Set<DroneState> from, DroneState to, boolean timed, int batteryCost,
+            List<TransitionGuard> guards) {
+        this.action = action;
+        this.from = from;
+        this.to = to;
+        this.timed = timed;
+        this.batteryCost = batteryCost;
+        this.guards = guards;
+    }
+
+    /**
+     * Checks the drone's state and the guards, then moves the drone to the target state.
+     */
+    public void apply(Drone drone, double loadedWeight) {
+        if (!from.contains(drone.getState())) {
+            throw new InvalidStateTransitionException(action, drone.getState());
+        }
+        guards.forEach(guard -> guard.check(this, drone, loadedWeight));
+        drone.setState(to);
+    }
+
+    public int batteryAfter(int batteryCapacity) {
+        return Math.max(batteryCapacity - batteryCost, 0);
+    }
+
+    /**
+     * The transition that leaves the given state on its own after a delay, if there is one.
+     */
+    public static Optional<DroneTransition> timedFrom(DroneState state) {
+        return Arrays.stream(values())
+                .filter(transition -> transition.timed && transition.from.contains(state))
+                .findFirst();
+    }
+}
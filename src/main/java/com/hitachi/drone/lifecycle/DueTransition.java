@@ -0,0 +1,37 @@
+package com.hitachi.drone.lifecycle;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed transition waiting in the {@link TransitionTimer} until its due time.
+ */
+@Getter
+@ToString
+public class DueTransition implements Delayed {
+    private final Long droneId;
+    private final DroneTransition transition;
+    private final long dueAtNanos;
+
+    public DueTransition(Long droneId, DroneTransition transition, long dueAtNanos) {
+        this.droneId = droneId;
+        this.transition = transition;
+        this.dueAtNanos = dueAtNanos;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof DueTransition otherTransition) {
+            return Long.compare(dueAtNanos, otherTransition.dueAtNanos);
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
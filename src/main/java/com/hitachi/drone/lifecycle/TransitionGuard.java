@@ -0,0 +1,41 @@
+package com.hitachi.drone.lifecycle;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.exceptions.BatteryLowException;
+import com.hitachi.drone.exceptions.InvalidStateTransitionException;
+import com.hitachi.drone.exceptions.OverloadException;
+
+/**
+ * Preconditions a drone must meet, besides its current state, before a transition is applied.
+ */
+public enum TransitionGuard {
+    // Below this a drone is neither loaded nor sent out
+    SUFFICIENT_BATTERY {
+        @Override
+        void check(DroneTransition transition, Drone drone, double loadedWeight) {
+            if (drone.getBatteryCapacity() < LOW_BATTERY) {
+                throw new BatteryLowException(transition.getAction());
+            }
+        }
+    },
+    WITHIN_WEIGHT_LIMIT {
+        @Override
+        void check(DroneTransition transition, Drone drone, double loadedWeight) {
+            if (loadedWeight > drone.getWeightLimit()) {
+                throw new OverloadException(drone.getWeightLimit());
+            }
+        }
+    },
+    HAS_LOAD {
+        @Override
+        void check(DroneTransition transition, Drone drone, double loadedWeight) {
+            if (loadedWeight <= 0) {
+                throw new InvalidStateTransitionException("Drone has no medications to deliver");
+            }
+        }
+    };
+
+    public static final int LOW_BATTERY = 25;
+
+    abstract void check(DroneTransition transition, Drone drone, double loadedWeight);
+}
@@ -0,0 +1,88 @@
+package com.hitachi.drone.lifecycle;
+
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.projection.DroneStateView;
+import com.hitachi.drone.repository.DroneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the pending timed transitions ordered by due time, so a scheduler tick only sees the drones that are
+ * actually due instead of polling the drone table.
+ * <p>
+ * A timed transition is scheduled whenever a committed {@link DroneStateChangedEvent} moves a drone into a
+ * state that is left on its own. Drones already in flight are scheduled again on startup.
+ */
+@Component
+public class TransitionTimer {
+    private static final Logger logger = LoggerFactory.getLogger(TransitionTimer.class);
+
+    private final DelayQueue<DueTransition> queue = new DelayQueue<>();
+    private final Map<DroneTransition, Long> delayMillis = new EnumMap<>(DroneTransition.class);
+    private final DroneRepository droneRepository;
+
+    public TransitionTimer(DroneRepository droneRepository,
+            @Value("${drone.lifecycle.delivery-ms:30000}") long deliveryMillis,
+            @Value("${drone.lifecycle.unload-ms:10000}") long unloadMillis,
+            @Value("${drone.lifecycle.return-ms:30000}") long returnMillis) {
+        this.droneRepository = droneRepository;
+        delayMillis.put(DroneTransition.ARRIVE, deliveryMillis);
+        delayMillis.put(DroneTransition.RETURN, unloadMillis);
+        delayMillis.put(DroneTransition.DOCK, returnMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDroneStateChanged(DroneStateChangedEvent event) {
+        if (event.getState() != null) {
+            DroneTransition.timedFrom(event.getState())
+                    .ifPresent(transition -> schedule(event.getDroneId(), transition));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleDronesInFlight() {
+        Set<DroneState> states = EnumSet.noneOf(DroneState.class);
+        delayMillis.keySet().forEach(transition -> states.addAll(transition.getFrom()));
+        List<DroneStateView> drones = droneRepository.findStateByStateIn(states);
+        drones.forEach(drone -> DroneTransition.timedFrom(drone.getState())
+                .ifPresent(transition -> schedule(drone.getId(), transition)));
+        logger.info("Scheduled timed transitions for {} drones in flight", drones.size());
+    }
+
+    public void schedule(Long droneId, DroneTransition transition) {
+        schedule(droneId, transition, delayMillis.get(transition));
+    }
+
+    public void schedule(Long droneId, DroneTransition transition, long delayMillis) {
+        queue.put(new DueTransition(droneId, transition,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+    }
+
+    /**
+     * Removes and returns every transition whose due time has passed, earliest first.
+     */
+    public List<DueTransition> drainDue() {
+        List<DueTransition> due = new ArrayList<>();
+        queue.drainTo(due);
+        return due;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
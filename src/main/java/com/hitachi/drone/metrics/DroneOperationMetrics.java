@@ -0,0 +1,70 @@
+package com.hitachi.drone.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@link com.hitachi.drone.service.IDroneService} operation and counts the exceptions it ends with,
+ * tagged by operation and exception type.
+ * <p>
+ * Runs outside the transaction and retry advice, so the recorded latency includes the commit and every retry
+ * the caller waited for.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@AllArgsConstructor
+@ConditionalOnProperty(name = "drone.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class DroneOperationMetrics {
+    static final String OPERATION_TIMER = "drone.operation";
+    static final String FAILURE_COUNTER = "drone.operation.failures";
+
+    private final MeterRegistry meterRegistry;
+    // Looked up once per operation, so the success path does not build tags on every call
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.hitachi.drone.service.IDroneService.*(..))")
+    public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        long startNanos = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(operation, name -> timer(name, "success", "none"))
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable throwable) {
+            String exception = throwable.getClass().getSimpleName();
+            timer(operation, "failure", exception)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            Counter.builder(FAILURE_COUNTER)
+                    .description("Drone operations that ended with an exception")
+                    .tag("operation", operation)
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw throwable;
+        }
+    }
+
+    private Timer timer(String operation, String outcome, String exception) {
+        return Timer.builder(OPERATION_TIMER)
+                .description("Latency of drone service operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.hitachi.drone.metrics;
+
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneEventBroadcaster;
+import com.hitachi.drone.fleet.FleetStateIndex;
+import com.hitachi.drone.repository.DroneRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fleet-wide gauges: drones per {@link DroneState}, the hit statistics of the {@link FleetStateIndex} and the
+ * number of open drone event streams.
+ * <p>
+ * The state counts come from a single grouped query every {@code drone.metrics.state-refresh-ms}, so a scrape
+ * never reaches the database.
+ */
+@Component
+@AllArgsConstructor
+public class FleetMetrics implements MeterBinder {
+    static final String DRONES_GAUGE = "drone.fleet.drones";
+
+    private final DroneRepository droneRepository;
+    private final FleetStateIndex fleetStateIndex;
+    private final DroneEventBroadcaster droneEventBroadcaster;
+    private final Map<DroneState, AtomicLong> dronesByState = newStateCounts();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DroneState state : DroneState.values()) {
+            Gauge.builder(DRONES_GAUGE, dronesByState.get(state), AtomicLong::get)
+                    .description("Drones per state, as of the last refresh")
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+
+        Gauge.builder("drone.fleet.index.size", fleetStateIndex, FleetStateIndex::size)
+                .description("Drones held in the fleet state index")
+                .register(registry);
+        FunctionCounter.builder("drone.fleet.index.lookups", fleetStateIndex, FleetStateIndex::getHitCount)
+                .description("Fleet state index lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("drone.fleet.index.lookups", fleetStateIndex, FleetStateIndex::getMissCount)
+                .description("Fleet state index lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("drone.fleet.index.expirations", fleetStateIndex,
+                        FleetStateIndex::getExpirationCount)
+                .description("Fleet state index entries dropped for being older than the maximum age")
+                .register(registry);
+        Gauge.builder("drone.fleet.index.served.age", fleetStateIndex, FleetStateIndex::getAverageServedAgeMillis)
+                .description("Average age of the entries served from the fleet state index")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("drone.events.subscribers", droneEventBroadcaster, DroneEventBroadcaster::getSubscriberCount)
+                .description("Open drone event streams")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${drone.metrics.state-refresh-ms:15000}")
+    public void refreshDronesByState() {
+        Map<DroneState, Long> counts = new EnumMap<>(DroneState.class);
+        droneRepository.countByState().forEach(view -> counts.put(view.getState(), view.getCount()));
+        dronesByState.forEach((state, drones) -> drones.set(counts.getOrDefault(state, 0L)));
+    }
+
+    private static Map<DroneState, AtomicLong> newStateCounts() {
+        Map<DroneState, AtomicLong> counts = new EnumMap<>(DroneState.class);
+        for (DroneState state : DroneState.values()) {
+            counts.put(state, new AtomicLong());
+        }
+        return counts;
+    }
+}
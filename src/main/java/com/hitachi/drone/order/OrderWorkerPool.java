@@ -0,0 +1,146 @@
+package com.hitachi.drone.order;
+
+import com.hitachi.drone.enums.OrderStatus;
+import com.hitachi.drone.exceptions.BatteryLowException;
+import com.hitachi.drone.exceptions.InvalidStateTransitionException;
+import com.hitachi.drone.exceptions.NoDroneAvailableException;
+import com.hitachi.drone.exceptions.OverloadException;
+import com.hitachi.drone.service.IOrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Workers that claim pending orders in batches and load them one by one.
+ * <p>
+ * Loads rejected for reasons that may pass, such as a full drone, low battery or a drone that is away, are
+ * retried with a growing delay; any other failure fails the order. Orders still claimed when the pool stops are
+ * taken over by any worker once their claim expires.
+ */
+@Component
+@ConditionalOnProperty(name = "drone.orders.enabled", havingValue = "true")
+public class OrderWorkerPool implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(OrderWorkerPool.class);
+    private static final String ORDERS_COUNTER = "drone.orders.processed";
+
+    private final IOrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final int workers;
+    private final int batchSize;
+    private final long pollMillis;
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+
+    public OrderWorkerPool(IOrderService orderService, MeterRegistry meterRegistry,
+            @Value("${drone.orders.workers:4}") int workers,
+            @Value("${drone.orders.batch-size:20}") int batchSize,
+            @Value("${drone.orders.poll-ms:500}") long pollMillis) {
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "order-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        logger.info("Started {} order workers", workers);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Order workers did not stop in time");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running) {
+            List<Long> claimed;
+            try {
+                claimed = orderService.claimOrders(batchSize);
+            } catch (RuntimeException exception) {
+                logger.error("Unable to claim orders", exception);
+                claimed = List.of();
+            }
+            if (claimed.isEmpty()) {
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException exception) {
+                    return;
+                }
+                continue;
+            }
+            // Claimed orders left when stopping are taken over after their claim expires
+            for (int i = 0; i < claimed.size() && running; i++) {
+                process(claimed.get(i));
+            }
+        }
+    }
+
+    void process(Long orderId) {
+        try {
+            orderService.processOrder(orderId);
+            count("loaded");
+        } catch (RuntimeException exception) {
+            // Recording the outcome may fail as well; the order is then taken over once its claim expires
+            try {
+                if (isRetryable(exception)) {
+                    OrderStatus status = orderService.retryOrder(orderId, exception.getMessage());
+                    count(status == OrderStatus.FAILED ? "failed" : "retried");
+                } else {
+                    logger.warn("Order {} failed", orderId, exception);
+                    orderService.failOrder(orderId, exception.getMessage());
+                    count("failed");
+                }
+            } catch (RuntimeException failure) {
+                logger.error("Unable to record the outcome of order {}", orderId, failure);
+            }
+        }
+    }
+
+    private static boolean isRetryable(RuntimeException exception) {
+        return exception instanceof OverloadException || exception instanceof BatteryLowException
+                || exception instanceof InvalidStateTransitionException
+                || exception instanceof NoDroneAvailableException
+                || exception instanceof ConcurrencyFailureException
+                || exception instanceof UnexpectedRollbackException;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter(ORDERS_COUNTER, "outcome", outcome).increment();
+    }
+}
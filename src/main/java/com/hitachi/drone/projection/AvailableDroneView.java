@@ -0,0 +1,9 @@
+package com.hitachi.drone.projection;
+
+public interface AvailableDroneView {
+    Long getId();
+
+    String getSerialNumber();
+
+    Double getRemainingCapacity();
+}
@@ -0,0 +1,20 @@
+package com.hitachi.drone.projection;
+
+/**
+ * A loaded medication with the id of its drone, without the drone itself or the image bytes.
+ */
+public interface DroneMedicationView {
+    Long getDroneId();
+
+    Long getId();
+
+    String getName();
+
+    Double getWeight();
+
+    String getCode();
+
+    String getImageName();
+
+    String getImageType();
+}
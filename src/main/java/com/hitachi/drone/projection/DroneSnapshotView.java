@@ -0,0 +1,13 @@
+package com.hitachi.drone.projection;
+
+import com.hitachi.drone.enums.DroneState;
+
+public interface DroneSnapshotView {
+    Long getId();
+
+    DroneState getState();
+
+    Integer getBatteryCapacity();
+
+    Long getVersion();
+}
@@ -0,0 +1,9 @@
+package com.hitachi.drone.projection;
+
+import com.hitachi.drone.enums.DroneState;
+
+public interface DroneStateCountView {
+    DroneState getState();
+
+    Long getCount();
+}
@@ -0,0 +1,18 @@
+package com.hitachi.drone.projection;
+
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+
+public interface DroneSummaryView {
+    Long getId();
+
+    String getSerialNumber();
+
+    DroneModel getModel();
+
+    Double getWeightLimit();
+
+    Integer getBatteryCapacity();
+
+    DroneState getState();
+}
@@ -0,0 +1,26 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.entity.BatteryRollup;
+import com.hitachi.drone.entity.BatteryRollupId;
+import com.hitachi.drone.enums.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface BatteryRollupRepository
+        extends JpaRepository<BatteryRollup, BatteryRollupId>, BatteryRollupRepositoryCustom {
+
+    // Served from the primary key, which leads with the drone, resolution and bucket start
+    @Query("SELECT r FROM BatteryRollup r WHERE r.id.droneId = :droneId AND r.id.resolution = :resolution "
+            + "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to ORDER BY r.id.bucketStart")
+    List<BatteryRollup> findRange(@Param("droneId") Long droneId, @Param("resolution") RollupResolution resolution,
+            @Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query("DELETE FROM BatteryRollup r WHERE r.id.resolution = :resolution AND r.id.bucketStart < :before")
+    int deleteOlderThan(@Param("resolution") RollupResolution resolution, @Param("before") Instant before);
+}
@@ -0,0 +1,12 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.entity.BatteryRollup;
+
+import java.util.List;
+
+public interface BatteryRollupRepositoryCustom {
+    /**
+     * Stores the rollups in one JDBC batch. A bucket that is already stored is merged with the new samples.
+     */
+    void mergeRollups(List<BatteryRollup> rollups);
+}
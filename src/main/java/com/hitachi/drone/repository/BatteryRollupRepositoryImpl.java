@@ -0,0 +1,43 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.entity.BatteryRollup;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@AllArgsConstructor
+public class BatteryRollupRepositoryImpl implements BatteryRollupRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    // A bucket is normally written once, when it closes; samples that arrive after that are merged in. All or
+    // nothing, so a failed flush can be retried without counting samples twice
+    @Override
+    @Transactional
+    public void mergeRollups(List<BatteryRollup> rollups) {
+        jdbcTemplate.batchUpdate("MERGE INTO battery_rollup r USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR),"
+                        + " CAST(? AS TIMESTAMP(6) WITH TIME ZONE), CAST(? AS INT), CAST(? AS INT), CAST(? AS BIGINT),"
+                        + " CAST(? AS INT), CAST(? AS INT)))"
+                        + " s (drone_id, resolution, bucket_start, min_battery, max_battery, battery_sum, samples,"
+                        + " last_battery)"
+                        + " ON r.drone_id = s.drone_id AND r.resolution = s.resolution"
+                        + " AND r.bucket_start = s.bucket_start"
+                        + " WHEN MATCHED THEN UPDATE SET min_battery = LEAST(r.min_battery, s.min_battery),"
+                        + " max_battery = GREATEST(r.max_battery, s.max_battery),"
+                        + " battery_sum = r.battery_sum + s.battery_sum, samples = r.samples + s.samples,"
+                        + " last_battery = s.last_battery"
+                        + " WHEN NOT MATCHED THEN INSERT (drone_id, resolution, bucket_start, min_battery, max_battery,"
+                        + " battery_sum, samples, last_battery) VALUES (s.drone_id, s.resolution, s.bucket_start,"
+                        + " s.min_battery, s.max_battery, s.battery_sum, s.samples, s.last_battery)",
+                rollups.stream()
+                        .map(rollup -> new Object[] { rollup.getId().getDroneId(),
+                                rollup.getId().getResolution().name(),
+                                OffsetDateTime.ofInstant(rollup.getId().getBucketStart(), ZoneOffset.UTC),
+                                rollup.getMinBattery(), rollup.getMaxBattery(), rollup.getBatterySum(),
+                                rollup.getSamples(), rollup.getLastBattery() })
+                        .toList());
+    }
+}
@@ -0,0 +1,32 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.entity.DeliveryOrder;
+import com.hitachi.drone.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface DeliveryOrderRepository extends JpaRepository<DeliveryOrder, Long> {
+
+    // Rows locked by another worker's claim are skipped instead of waited for, so workers claim disjoint batches
+    // without queueing behind each other; orders whose claim has expired are taken over
+    @Query(value = "SELECT * FROM delivery_order "
+            + "WHERE (status = 'PENDING' AND next_attempt_at <= :now) "
+            + "OR (status = 'CLAIMED' AND claimed_until < :now) "
+            + "ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DeliveryOrder> findClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Held until the transaction ends, so a worker whose claim expired and the worker that took the order over
+    // process it one after the other, and the second sees what the first did
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM DeliveryOrder o WHERE o.id = :id")
+    Optional<DeliveryOrder> findByIdForUpdate(@Param("id") Long id);
+
+    long countByStatus(OrderStatus status);
+}
@@ -1,11 +1,73 @@
 package com.hitachi.drone.repository;
 
 import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
 import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.projection.DroneSnapshotView;
+import com.hitachi.drone.projection.DroneStateCountView;
+import com.hitachi.drone.projection.DroneStateView;
+import com.hitachi.drone.projection.DroneSummaryView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
-public interface DroneRepository extends JpaRepository<Drone, Long> {
+public interface DroneRepository extends JpaRepository<Drone, Long>, DroneRepositoryCustom {
     List<Drone> findByState(DroneState state);
+
+    @Query("SELECT d.serialNumber FROM Drone d WHERE d.serialNumber IN :serialNumbers")
+    Set<String> findExistingSerialNumbers(@Param("serialNumbers") Collection<String> serialNumbers);
+
+    // Forces a version bump at commit, so two transactions loading the same drone cannot both succeed
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT d FROM Drone d WHERE d.id = :id")
+    Optional<Drone> findForLoadingById(@Param("id") Long id);
+
+    @Query("SELECT d.id AS id, d.state AS state, d.batteryCapacity AS batteryCapacity, d.version AS version "
+            + "FROM Drone d WHERE d.id IN :ids")
+    List<DroneSnapshotView> findSnapshotByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.id AS id, d.state AS state FROM Drone d WHERE d.state IN :states")
+    List<DroneStateView> findStateByStateIn(@Param("states") Collection<DroneState> states);
+
+    @Query("SELECT d.id FROM Drone d WHERE d.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.state AS state, COUNT(d) AS count FROM Drone d GROUP BY d.state")
+    List<DroneStateCountView> countByState();
+
+    // Seeks past afterId like findAvailable, and reads only the columns of the list view
+    @Query("SELECT d.id AS id, d.serialNumber AS serialNumber, d.model AS model, d.weightLimit AS weightLimit, "
+            + "d.batteryCapacity AS batteryCapacity, d.state AS state "
+            + "FROM Drone d "
+            + "WHERE (:state IS NULL OR d.state = :state) AND (:model IS NULL OR d.model = :model) "
+            + "AND d.id > :afterId "
+            + "ORDER BY d.id")
+    List<DroneSummaryView> findSummaryPage(@Param("state") DroneState state,
+            @Param("model") DroneModel model,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // Seeks past afterId instead of using an offset, so every page costs the same; the state and battery
+    // filter is served by idx_drone_state_battery, and the remaining capacity is read off the drone row
+    @Query("SELECT d.id AS id, d.serialNumber AS serialNumber, d.weightLimit - d.loadedWeight AS remainingCapacity "
+            + "FROM Drone d "
+            + "WHERE d.state IN :states AND d.batteryCapacity >= :minBattery "
+            + "AND (:model IS NULL OR d.model = :model) AND d.id > :afterId "
+            + "AND d.weightLimit - d.loadedWeight >= :minCapacity "
+            + "ORDER BY d.id")
+    List<AvailableDroneView> findAvailable(@Param("states") Collection<DroneState> states,
+            @Param("minBattery") Integer minBattery,
+            @Param("minCapacity") Double minCapacity,
+            @Param("model") DroneModel model,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.projection.DroneSnapshotView;
+
+import java.util.List;
+import java.util.Map;
+
+public interface DroneRepositoryCustom {
+    /**
+     * Applies the transition to each drone whose version still matches the snapshot. Returns one update count per
+     * snapshot, in order; a zero count means the drone was modified concurrently.
+     */
+    int[] transitionState(List<DroneSnapshotView> drones, DroneTransition transition);
+
+    /**
+     * Sets the reported battery level of each drone. Returns one update count per drone, in iteration order; a zero
+     * count means the drone does not exist.
+     */
+    int[] updateBatteryCapacities(Map<Long, Integer> batteryByDroneId);
+}
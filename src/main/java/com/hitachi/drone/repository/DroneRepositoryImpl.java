@@ -0,0 +1,40 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.projection.DroneSnapshotView;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+public class DroneRepositoryImpl implements DroneRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    // One statement per drone, sent as a single JDBC batch. The guard is the version rather than the state, so
+    // every row is found through the primary key; a state predicate lets H2 plan on idx_drone_state_battery,
+    // and it keeps that plan once the statement is cached. The battery cost is subtracted from the stored level,
+    // which telemetry may have changed since the snapshot. Arriving hands the medications over, so it also empties
+    // the drone
+    @Override
+    public int[] transitionState(List<DroneSnapshotView> drones, DroneTransition transition) {
+        String unload = transition == DroneTransition.ARRIVE ? ", loaded_weight = 0" : "";
+        return jdbcTemplate.batchUpdate(
+                "UPDATE drone SET state = ?, battery_capacity = GREATEST(battery_capacity - ?, 0)" + unload
+                        + ", version = version + 1 WHERE id = ? AND version = ?",
+                drones.stream()
+                        .map(drone -> new Object[] { transition.getTo().name(), transition.getBatteryCost(),
+                                drone.getId(), drone.getVersion() })
+                        .toList());
+    }
+
+    // Telemetry leaves the version alone: a reported battery level must not fail concurrent loads or transitions
+    @Override
+    public int[] updateBatteryCapacities(Map<Long, Integer> batteryByDroneId) {
+        return jdbcTemplate.batchUpdate("UPDATE drone SET battery_capacity = ? WHERE id = ?",
+                batteryByDroneId.entrySet().stream()
+                        .map(entry -> new Object[] { entry.getValue(), entry.getKey() })
+                        .toList());
+    }
+}
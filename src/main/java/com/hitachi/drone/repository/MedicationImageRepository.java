@@ -0,0 +1,7 @@
+package com.hitachi.drone.repository;
+
+import com.hitachi.drone.entity.MedicationImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MedicationImageRepository extends JpaRepository<MedicationImage, Long> {
+}
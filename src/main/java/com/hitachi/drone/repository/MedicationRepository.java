@@ -1,10 +1,53 @@
 package com.hitachi.drone.repository;
 
 import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.projection.DroneMedicationView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface MedicationRepository extends JpaRepository<Medication, Long> {
-    List<Medication> findAllByDroneId(Long droneId);
+    // Filters on the foreign key column. Derived from the method name, the query joined the drone and filtered on
+    // its id, which H2 planned as a scan of every medication
+    @Query("SELECT m FROM Medication m WHERE m.drone.id = :droneId ORDER BY m.id")
+    List<Medication> findAllByDroneId(@Param("droneId") Long droneId);
+
+    // Keyset page in id order; the drone is fetched in the same query instead of once per medication
+    @Query("SELECT m FROM Medication m JOIN FETCH m.drone WHERE m.drone.id = :droneId AND m.id > :afterId "
+            + "ORDER BY m.id")
+    List<Medication> findPageByDroneId(@Param("droneId") Long droneId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // One query for many drones, ordered so the caller can group by drone in a single pass; the drone itself is
+    // not read, only its id
+    @Query("SELECT m.drone.id AS droneId, m.id AS id, m.name AS name, m.weight AS weight, m.code AS code, "
+            + "m.imageName AS imageName, m.imageType AS imageType "
+            + "FROM Medication m WHERE m.drone.id IN :droneIds ORDER BY m.drone.id, m.id")
+    List<DroneMedicationView> findViewsByDroneIdIn(@Param("droneIds") Collection<Long> droneIds);
+
+    // Keyset pages of the medication list view, read without the drone or the image
+    @Query("SELECT m.drone.id AS droneId, m.id AS id, m.name AS name, m.weight AS weight, m.code AS code, "
+            + "m.imageName AS imageName, m.imageType AS imageType "
+            + "FROM Medication m WHERE m.id > :afterId ORDER BY m.id")
+    List<DroneMedicationView> findViewPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT m.drone.id AS droneId, m.id AS id, m.name AS name, m.weight AS weight, m.code AS code, "
+            + "m.imageName AS imageName, m.imageType AS imageType "
+            + "FROM Medication m WHERE m.drone.id = :droneId AND m.id > :afterId ORDER BY m.id")
+    List<DroneMedicationView> findViewPageByDroneId(@Param("droneId") Long droneId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT m.code FROM Medication m WHERE m.code IN :codes")
+    Set<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    // Hands the medications over on delivery
+    @Modifying
+    @Query("UPDATE Medication m SET m.drone = null WHERE m.drone.id IN :droneIds")
+    int unloadDrones(@Param("droneIds") Collection<Long> droneIds);
 }
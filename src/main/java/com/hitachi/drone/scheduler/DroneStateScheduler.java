@@ -1,8 +1,11 @@
 package com.hitachi.drone.scheduler;
 
-import com.hitachi.drone.entity.Drone;
-import com.hitachi.drone.enums.DroneState;
-import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.DueTransition;
+import com.hitachi.drone.lifecycle.TransitionTimer;
+import com.hitachi.drone.service.IDroneService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 
 import org.slf4j.Logger;
@@ -11,27 +14,73 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableScheduling
 @AllArgsConstructor
 public class DroneStateScheduler {
-    private final DroneRepository droneRepository;
+    // Drones transitioned per UPDATE statement, which keeps the IN list bounded for large fleets
+    private static final int CHUNK_SIZE = 1000;
+    // Wait before retrying a chunk whose transition failed
+    private static final long RETRY_DELAY_MS = 5000;
+    private static final String TICK_TIMER = "drone.scheduler.tick";
+    private static final String TRANSITIONS_COUNTER = "drone.scheduler.transitions";
+
+    private final IDroneService droneService;
+    private final TransitionTimer transitionTimer;
+    private final MeterRegistry meterRegistry;
     private static final Logger logger = LoggerFactory.getLogger(DroneStateScheduler.class);
 
-    // 10 secs
-    @Scheduled(fixedRate = 10000)
-    public void updateDroneStates() {
-        logger.debug("Entering Scheduler");
-        // For those in delivered state, set state to returning
-        // Assume every delivery, battery consumes 10%
-        List<Drone> deliveringDrones = droneRepository.findByState(DroneState.DELIVERED);
-        deliveringDrones.forEach(drone -> {
-            logger.debug("Transition state of Drone with serial number '{}' to RETURNING", drone.getSerialNumber());
-            drone.setBatteryCapacity(drone.getBatteryCapacity() - 10);
-            drone.setState(DroneState.RETURNING);
-        });
-        droneRepository.saveAll(deliveringDrones);
+    // Only the transitions that have come due are applied, so an idle tick costs no database work
+    @Scheduled(fixedDelayString = "${drone.scheduler.tick-ms:1000}",
+            initialDelayString = "${drone.scheduler.initial-delay-ms:0}")
+    public void advanceDueTransitions() {
+        List<DueTransition> due = transitionTimer.drainDue();
+        if (due.isEmpty()) {
+            return;
+        }
+        Timer.Sample tick = Timer.start(meterRegistry);
+
+        // Duplicates of the same drone collapse here, and each transition is applied set-based per chunk
+        Map<DroneTransition, Set<Long>> dueByTransition = new EnumMap<>(DroneTransition.class);
+        due.forEach(dueTransition -> dueByTransition
+                .computeIfAbsent(dueTransition.getTransition(), transition -> new LinkedHashSet<>())
+                .add(dueTransition.getDroneId()));
+
+        int applied = 0;
+        for (Map.Entry<DroneTransition, Set<Long>> entry : dueByTransition.entrySet()) {
+            List<Long> ids = new ArrayList<>(entry.getValue());
+            int appliedForTransition = 0;
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                try {
+                    appliedForTransition += droneService.advanceDrones(entry.getKey(), chunk);
+                } catch (RuntimeException exception) {
+                    logger.error("Unable to apply {} to {} drones, retrying later", entry.getKey(), chunk.size(),
+                            exception);
+                    chunk.forEach(id -> transitionTimer.schedule(id, entry.getKey(), RETRY_DELAY_MS));
+                    countTransitions(entry.getKey(), "retried", chunk.size());
+                }
+            }
+            countTransitions(entry.getKey(), "applied", appliedForTransition);
+            applied += appliedForTransition;
+        }
+        // Idle ticks are not recorded, so the histogram only describes ticks that did work
+        long tickNanos = tick.stop(Timer.builder(TICK_TIMER)
+                .description("Duration of scheduler ticks that applied due transitions")
+                .register(meterRegistry));
+        logger.info("Applied {} of {} due transitions in {} ms", applied, due.size(),
+                tickNanos / 1_000_000);
+    }
+
+    private void countTransitions(DroneTransition transition, String outcome, int drones) {
+        meterRegistry.counter(TRANSITIONS_COUNTER, "transition", transition.name(), "outcome", outcome)
+                .increment(drones);
     }
 }
@@ -0,0 +1,24 @@
+package com.hitachi.drone.scheduler;
+
+import com.hitachi.drone.service.ITelemetryService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class TelemetryScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryScheduler.class);
+
+    private final ITelemetryService telemetryService;
+
+    @Scheduled(fixedDelayString = "${drone.telemetry.flush-ms:1000}")
+    public void flushTelemetry() {
+        int written = telemetryService.flushBatteries();
+        if (written > 0) {
+            logger.debug("Wrote reported battery levels of {} drones", written);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hitachi.drone.service;
+
+import com.hitachi.drone.dto.BatteryHistoryPointDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public interface IBatteryHistoryService {
+    List<BatteryHistoryPointDto> getBatteryHistory(Long droneId, Instant from, Instant to, Duration step);
+}
@@ -0,0 +1,8 @@
+package com.hitachi.drone.service;
+
+import com.hitachi.drone.dto.DispatchPlanDto;
+import com.hitachi.drone.dto.DispatchPlanRequestDto;
+
+public interface IDispatchService {
+    DispatchPlanDto plan(DispatchPlanRequestDto request);
+}
@@ -1,18 +1,46 @@
 package com.hitachi.drone.service;
 
+import com.hitachi.drone.dto.BulkRegistrationResponseDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.dto.MedicationDto;
 import com.hitachi.drone.entity.Drone;
 import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.projection.DroneSummaryView;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IDroneService {
     Drone registerDrone(Drone drone);
 
+    BulkRegistrationResponseDto registerDrones(List<Drone> drones, int firstIndex);
+
     void loadDrone(Long id, Medication medication);
 
-    List<Medication> getLoadedMedications(Long droneId);
+    void loadDroneBatch(Long id, List<Medication> medications);
+
+    void dispatchDrone(Long id);
+
+    int advanceDrones(DroneTransition transition, List<Long> droneIds);
+
+    List<MedicationDto> getLoadedMedications(Long droneId);
+
+    List<Medication> getLoadedMedicationsPage(Long droneId, Long afterId, int limit);
+
+    Map<Long, List<DroneMedicationView>> getLoadedMedicationsByDroneIds(Collection<Long> droneIds);
 
     Boolean checkDroneAvailability(Long droneId);
 
     Integer checkBattery(Long droneId);
+
+    KeysetPageDto<DroneSummaryView> listDrones(DroneState state, DroneModel model, Long afterId, Integer limit);
+
+    KeysetPageDto<AvailableDroneView> findAvailableDrones(Double minCapacity, Integer minBattery, DroneModel model,
+            Long afterId, Integer limit);
 }
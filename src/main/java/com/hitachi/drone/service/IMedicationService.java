@@ -0,0 +1,16 @@
+package com.hitachi.drone.service;
+
+import com.hitachi.drone.dto.ImageMetadataDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.projection.DroneMedicationView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IMedicationService {
+    KeysetPageDto<DroneMedicationView> listMedications(Long droneId, Long afterId, Integer limit);
+
+    ImageMetadataDto getImageMetadata(Long medicationId);
+
+    void streamImage(Long medicationId, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.hitachi.drone.service;
+
+import com.hitachi.drone.dto.DeliveryOrderDto;
+import com.hitachi.drone.dto.DeliveryOrderRequestDto;
+import com.hitachi.drone.dto.OrderIntakeResponseDto;
+import com.hitachi.drone.enums.OrderStatus;
+
+import java.util.List;
+
+public interface IOrderService {
+    OrderIntakeResponseDto submitOrders(List<DeliveryOrderRequestDto> orders);
+
+    DeliveryOrderDto getOrder(Long orderId);
+
+    List<Long> claimOrders(int limit);
+
+    void processOrder(Long orderId);
+
+    OrderStatus retryOrder(Long orderId, String reason);
+
+    void failOrder(Long orderId, String reason);
+}
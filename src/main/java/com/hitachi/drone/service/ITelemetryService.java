@@ -0,0 +1,15 @@
+package com.hitachi.drone.service;
+
+import java.nio.ByteBuffer;
+
+public interface ITelemetryService {
+    // A binary report: the drone id as a big-endian 64-bit integer followed by the battery level as one
+    // unsigned byte
+    int RECORD_SIZE = Long.BYTES + 1;
+
+    boolean recordBattery(Long droneId, Integer batteryCapacity);
+
+    int recordBinary(ByteBuffer records);
+
+    int flushBatteries();
+}
@@ -0,0 +1,113 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.dto.BatteryHistoryPointDto;
+import com.hitachi.drone.entity.BatteryRollup;
+import com.hitachi.drone.enums.RollupResolution;
+import com.hitachi.drone.exceptions.InvalidRangeException;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.history.BatteryHistoryRecorder;
+import com.hitachi.drone.repository.BatteryRollupRepository;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.IBatteryHistoryService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class BatteryHistoryService implements IBatteryHistoryService {
+    // Upper bound on the points of one answer; a finer step is coarsened to stay within it
+    static final int MAX_POINTS = 1440;
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+
+    private final BatteryRollupRepository batteryRollupRepository;
+    private final DroneRepository droneRepository;
+    private final BatteryHistoryRecorder batteryHistoryRecorder;
+
+    // Answered from the coarsest rollup the step allows, so a query reads at most one row per rollup bucket and
+    // never raw samples
+    @Override
+    public List<BatteryHistoryPointDto> getBatteryHistory(Long droneId, Instant from, Instant to, Duration step) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new InvalidRangeException(start, end);
+        }
+        if (!droneRepository.existsById(droneId)) {
+            throw new ResourceNotFoundException("Drone", "ID", droneId);
+        }
+
+        long rangeMillis = Duration.between(start, end).toMillis();
+        long stepMillis = Math.max(step != null ? step.toMillis() : 0, ceilDiv(rangeMillis, MAX_POINTS));
+        // Minute rollups are only kept for a while, older ranges are answered from hour rollups
+        boolean minutesRetained = start.isAfter(Instant.now().minus(batteryHistoryRecorder.getMinuteRetention()));
+        RollupResolution resolution = stepMillis >= RollupResolution.HOUR.getBucket().toMillis() || !minutesRetained
+                ? RollupResolution.HOUR
+                : RollupResolution.MINUTE;
+        long bucketMillis = resolution.getBucket().toMillis();
+        stepMillis = ceilDiv(stepMillis, bucketMillis) * bucketMillis;
+
+        long firstStep = Math.floorDiv(start.toEpochMilli(), stepMillis) * stepMillis;
+        List<BatteryRollup> rollups = batteryRollupRepository.findRange(droneId, resolution,
+                Instant.ofEpochMilli(firstStep), end);
+
+        List<BatteryHistoryPointDto> points = new ArrayList<>();
+        PointBuilder point = null;
+        for (BatteryRollup rollup : rollups) {
+            long rollupStep = Math.floorDiv(rollup.getId().getBucketStart().toEpochMilli(), stepMillis) * stepMillis;
+            if (point == null || point.start != rollupStep) {
+                if (point != null) {
+                    points.add(point.build());
+                }
+                point = new PointBuilder(rollupStep, rollup);
+            } else {
+                point.add(rollup);
+            }
+        }
+        if (point != null) {
+            points.add(point.build());
+        }
+        return points;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private static class PointBuilder {
+        private final long start;
+        private int minBattery;
+        private int maxBattery;
+        private long batterySum;
+        private int samples;
+        private int lastBattery;
+
+        PointBuilder(long start, BatteryRollup first) {
+            this.start = start;
+            minBattery = first.getMinBattery();
+            maxBattery = first.getMaxBattery();
+            batterySum = first.getBatterySum();
+            samples = first.getSamples();
+            lastBattery = first.getLastBattery();
+        }
+
+        void add(BatteryRollup rollup) {
+            minBattery = Math.min(minBattery, rollup.getMinBattery());
+            maxBattery = Math.max(maxBattery, rollup.getMaxBattery());
+            batterySum += rollup.getBatterySum();
+            samples += rollup.getSamples();
+            lastBattery = rollup.getLastBattery();
+        }
+
+        BatteryHistoryPointDto build() {
+            return new BatteryHistoryPointDto(Instant.ofEpochMilli(start), minBattery, maxBattery,
+                    (double) batterySum / samples, lastBattery, samples);
+        }
+    }
+}
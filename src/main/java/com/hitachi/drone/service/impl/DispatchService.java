@@ -0,0 +1,87 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.dispatch.BinPacker;
+import com.hitachi.drone.dispatch.PackingResult;
+import com.hitachi.drone.dto.DispatchItemDto;
+import com.hitachi.drone.dto.DispatchPlanDto;
+import com.hitachi.drone.dto.DispatchPlanRequestDto;
+import com.hitachi.drone.dto.DroneAssignmentDto;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.TransitionGuard;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.IDispatchService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class DispatchService implements IDispatchService {
+    private static final int DRONE_PAGE_SIZE = 1000;
+    private static final Set<DroneState> LOADABLE_STATES = DroneTransition.LOAD.getFrom();
+    private final DroneRepository droneRepository;
+
+    @Override
+    public DispatchPlanDto plan(DispatchPlanRequestDto request) {
+        List<DispatchItemDto> items = request.getItems();
+        double[] weights = items.stream().mapToDouble(DispatchItemDto::getWeight).toArray();
+        // Drones without room for even the lightest item can never take part in the plan
+        double lightest = Arrays.stream(weights).min().orElse(0);
+        List<AvailableDroneView> drones = findAvailableDrones(lightest);
+        double[] capacities = drones.stream().mapToDouble(AvailableDroneView::getRemainingCapacity).toArray();
+
+        PackingResult result = request.getStrategy() != null
+                ? BinPacker.pack(weights, capacities, request.getStrategy())
+                : BinPacker.packBest(weights, capacities, Boolean.TRUE.equals(request.getParallel()));
+
+        List<List<String>> codesByDrone = new ArrayList<>(drones.size());
+        double[] assignedWeights = new double[drones.size()];
+        for (int i = 0; i < drones.size(); i++) {
+            codesByDrone.add(new ArrayList<>());
+        }
+        List<String> unassigned = new ArrayList<>();
+        for (int item = 0; item < items.size(); item++) {
+            int drone = result.binOfItem()[item];
+            if (drone < 0) {
+                unassigned.add(items.get(item).getCode());
+            } else {
+                codesByDrone.get(drone).add(items.get(item).getCode());
+                assignedWeights[drone] += weights[item];
+            }
+        }
+
+        List<DroneAssignmentDto> assignments = new ArrayList<>(result.binsUsed());
+        for (int i = 0; i < drones.size(); i++) {
+            if (!codesByDrone.get(i).isEmpty()) {
+                AvailableDroneView drone = drones.get(i);
+                assignments.add(new DroneAssignmentDto(drone.getId(), drone.getSerialNumber(), codesByDrone.get(i),
+                        assignedWeights[i], drone.getRemainingCapacity() - assignedWeights[i]));
+            }
+        }
+        return new DispatchPlanDto(result.strategy(), drones.size(), assignments, unassigned);
+    }
+
+    private List<AvailableDroneView> findAvailableDrones(double minCapacity) {
+        List<AvailableDroneView> drones = new ArrayList<>();
+        List<AvailableDroneView> page;
+        long afterId = 0L;
+        do {
+            page = droneRepository.findAvailable(LOADABLE_STATES, TransitionGuard.LOW_BATTERY, minCapacity, null,
+                    afterId, PageRequest.of(0, DRONE_PAGE_SIZE));
+            drones.addAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == DRONE_PAGE_SIZE);
+        return drones;
+    }
+}
@@ -1,87 +1,374 @@
 package com.hitachi.drone.service.impl;
 
+import com.hitachi.drone.dto.BatchItemErrorDto;
+import com.hitachi.drone.dto.BulkRegistrationResponseDto;
+import com.hitachi.drone.dto.DroneDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.dto.MedicationDto;
 import com.hitachi.drone.entity.Drone;
 import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.entity.MedicationImage;
+import com.hitachi.drone.enums.DroneModel;
 import com.hitachi.drone.enums.DroneState;
-import com.hitachi.drone.exceptions.BatteryLowException;
-import com.hitachi.drone.exceptions.OverloadException;
+import com.hitachi.drone.exceptions.BatchValidationException;
+import com.hitachi.drone.event.DroneStateChangedEvent;
 import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.fleet.FleetEntry;
+import com.hitachi.drone.fleet.FleetStateIndex;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.TransitionGuard;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.projection.DroneSnapshotView;
+import com.hitachi.drone.projection.DroneSummaryView;
 import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationImageRepository;
 import com.hitachi.drone.repository.MedicationRepository;
 import com.hitachi.drone.service.IDroneService;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @AllArgsConstructor
 @Transactional
 public class DroneService implements IDroneService {
-    private static final Integer LOW_BATTERY = 25;
+    private static final Integer LOW_BATTERY = TransitionGuard.LOW_BATTERY;
+    private static final int MAX_PAGE_SIZE = 500;
+    // States in which a drone is still at the depot and can take more load
+    private static final Set<DroneState> LOADABLE_STATES = DroneTransition.LOAD.getFrom();
     private final DroneRepository droneRepository;
     private final MedicationRepository medicationRepository;
+    private final MedicationImageRepository medicationImageRepository;
+    private final Validator validator;
+    private final FleetStateIndex fleetStateIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoadedMedicationReader loadedMedicationReader;
 
     public Drone registerDrone(Drone drone) {
         drone.setWeightLimit(drone.getModel().getMaxWeight());
-        return droneRepository.save(drone);
+        Drone registeredDrone = droneRepository.save(drone);
+        eventPublisher.publishEvent(new DroneStateChangedEvent(registeredDrone.getId(), registeredDrone.getState(),
+                registeredDrone.getBatteryCapacity(), registeredDrone.getWeightLimit(), 0.0));
+        return registeredDrone;
+    }
+
+    // Registers one chunk of a bulk request; invalid rows and duplicate serial numbers are reported per row
+    // (numbered from firstIndex) and the remaining drones are still written, as JDBC batches
+    public BulkRegistrationResponseDto registerDrones(List<Drone> drones, int firstIndex) {
+        Set<String> serialNumbers = new HashSet<>();
+        drones.stream().filter(Objects::nonNull).forEach(drone -> serialNumbers.add(drone.getSerialNumber()));
+        serialNumbers.remove(null);
+        Set<String> existingSerialNumbers = serialNumbers.isEmpty() ? Set.of()
+                : droneRepository.findExistingSerialNumbers(serialNumbers);
+
+        List<Drone> validDrones = new ArrayList<>();
+        List<BatchItemErrorDto> rejected = new ArrayList<>();
+        Set<String> seenSerialNumbers = new HashSet<>();
+        for (int index = 0; index < drones.size(); index++) {
+            Drone drone = drones.get(index);
+            if (drone == null) {
+                rejected.add(new BatchItemErrorDto(firstIndex + index, null, List.of("Drone must not be null")));
+                continue;
+            }
+            List<String> errors = new ArrayList<>();
+
+            for (ConstraintViolation<Drone> violation : validator.validate(drone)) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            errors.sort(null);
+            String serialNumber = drone.getSerialNumber();
+            if (serialNumber != null && !seenSerialNumbers.add(serialNumber)) {
+                errors.add("serialNumber: Duplicate serial number within request");
+            }
+            if (existingSerialNumbers.contains(serialNumber)) {
+                errors.add("serialNumber: Drone with this serial number already exists");
+            }
+
+            if (errors.isEmpty()) {
+                drone.setId(null);
+                drone.setWeightLimit(drone.getModel().getMaxWeight());
+                validDrones.add(drone);
+            } else {
+                rejected.add(new BatchItemErrorDto(firstIndex + index, serialNumber, errors));
+            }
+        }
+
+        droneRepository.saveAll(validDrones);
+        validDrones.forEach(drone -> eventPublisher.publishEvent(new DroneStateChangedEvent(drone.getId(),
+                drone.getState(), drone.getBatteryCapacity(), drone.getWeightLimit(), 0.0)));
+        return new BulkRegistrationResponseDto(drones.size(), validDrones.size(), rejected);
     }
 
+    // A concurrent load of the same drone fails the version check at commit and is retried
+    // against the fresh weight total; the retry runs outside the transaction
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${drone.load.retry.max-attempts:10}",
+            backoff = @Backoff(delayExpression = "${drone.load.retry.delay-ms:5}",
+                    maxDelayExpression = "${drone.load.retry.max-delay-ms:200}", multiplier = 2, random = true))
     public void loadDrone(Long id, Medication medication) {
 
-        Drone drone = droneRepository.findById(id)
+        Drone drone = droneRepository.findForLoadingById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", id));
 
-        if (drone.getBatteryCapacity() < LOW_BATTERY) {
-            throw new BatteryLowException();
+        // Getting the total weight of already loaded medication and the new medication
+        // to be loaded; the state, battery and weight limit are checked by the transition
+        double totalWeight = drone.getLoadedWeight() + medication.getWeight();
+        DroneTransition.LOAD.apply(drone, totalWeight);
+
+        attachMedications(drone, List.of(medication), totalWeight);
+    }
+
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${drone.load.retry.max-attempts:10}",
+            backoff = @Backoff(delayExpression = "${drone.load.retry.delay-ms:5}",
+                    maxDelayExpression = "${drone.load.retry.max-delay-ms:200}", multiplier = 2, random = true))
+    public void loadDroneBatch(Long id, List<Medication> medications) {
+        if (medications.isEmpty()) {
+            throw new BatchValidationException("Batch must contain at least one medication", List.of());
         }
 
-        List<Medication> existingMedications = medicationRepository.findAllByDroneId(id);
-        // Getting the total weight of already loaded medication and the new medication
-        // to be loaded
-        double totalWeight = existingMedications.stream().mapToDouble(Medication::getWeight).sum();
+        // Every item is checked before anything is written, so the caller gets all problems in one response
+        List<BatchItemErrorDto> itemErrors = validateBatch(medications);
+        if (!itemErrors.isEmpty()) {
+            throw new BatchValidationException(
+                    String.format("Unable to load. %d of %d medications are invalid", itemErrors.size(),
+                            medications.size()),
+                    itemErrors);
+        }
 
-        if ((totalWeight + medication.getWeight()) > drone.getWeightLimit()) {
-            throw new OverloadException(drone.getWeightLimit());
+        Drone drone = droneRepository.findForLoadingById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", id));
+
+        // The cumulative weight of the whole batch is checked once against the weight limit
+        double totalWeight = drone.getLoadedWeight()
+                + medications.stream().mapToDouble(Medication::getWeight).sum();
+        DroneTransition.LOAD.apply(drone, totalWeight);
+
+        attachMedications(drone, medications, totalWeight);
+    }
+
+    private List<BatchItemErrorDto> validateBatch(List<Medication> medications) {
+        Set<String> codes = new HashSet<>();
+        medications.stream().filter(Objects::nonNull).forEach(medication -> codes.add(medication.getCode()));
+        codes.remove(null);
+        Set<String> existingCodes = codes.isEmpty() ? Set.of() : medicationRepository.findExistingCodes(codes);
+
+        List<BatchItemErrorDto> itemErrors = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+        for (int index = 0; index < medications.size(); index++) {
+            Medication medication = medications.get(index);
+            if (medication == null) {
+                itemErrors.add(new BatchItemErrorDto(index, null, List.of("Medication must not be null")));
+                continue;
+            }
+            List<String> errors = new ArrayList<>();
+
+            for (ConstraintViolation<Medication> violation : validator.validate(medication)) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            errors.sort(null);
+            String code = medication.getCode();
+            if (code != null && !seenCodes.add(code)) {
+                errors.add("code: Duplicate code within batch");
+            }
+            if (existingCodes.contains(code)) {
+                errors.add("code: Medication with this code already exists");
+            }
+
+            if (!errors.isEmpty()) {
+                itemErrors.add(new BatchItemErrorDto(index, code, errors));
+            }
         }
+        return itemErrors;
+    }
+
+    private void attachMedications(Drone drone, List<Medication> medications, double loadedWeight) {
+        // Written with the version bump of the load, so it can never drift from the medication rows
+        drone.setLoadedWeight(loadedWeight);
+        List<MedicationImage> images = new ArrayList<>();
+        medications.forEach(medication -> {
+            // Always insert: a client supplied id, or one left over from a rolled back attempt, must not turn
+            // the save into a merge
+            medication.setId(null);
+            medication.setDrone(drone);
+            // Image bytes are stored apart from the medication row so listings never carry them
+            if (medication.getImageData() != null) {
+                images.add(new MedicationImage(null, medication, BlobProxy.generateProxy(medication.getImageData())));
+            }
+        });
 
-        medication.setDrone(drone);
+        // Sequence-generated ids let Hibernate send these as JDBC batches
+        medicationRepository.saveAll(medications);
+        medicationImageRepository.saveAll(images);
 
-        medicationRepository.save(medication);
+        // Loading leaves the battery as it was
+        eventPublisher.publishEvent(new DroneStateChangedEvent(drone.getId(), drone.getState(), null,
+                drone.getWeightLimit(), loadedWeight));
+    }
+
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${drone.load.retry.max-attempts:10}",
+            backoff = @Backoff(delayExpression = "${drone.load.retry.delay-ms:5}",
+                    maxDelayExpression = "${drone.load.retry.max-delay-ms:200}", multiplier = 2, random = true))
+    public void dispatchDrone(Long id) {
+        // Locked like a load, so a drone cannot take off while medications are being added to it
+        Drone drone = droneRepository.findForLoadingById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", id));
 
-        // Setting the state to loaded
-        if (drone.getState() == DroneState.IDLE || drone.getState() == DroneState.LOADING) {
-            drone.setState(DroneState.LOADED);
-            droneRepository.save(drone);
+        DroneTransition.DISPATCH.apply(drone, drone.getLoadedWeight());
+        eventPublisher.publishEvent(new DroneStateChangedEvent(id, drone.getState(), null, null, null));
+    }
+
+    // Applies a due timed transition to a chunk of drones in one JDBC batch; drones that have left the source
+    // state, or change while the chunk is applied, are skipped
+    public int advanceDrones(DroneTransition transition, List<Long> ids) {
+        List<DroneSnapshotView> drones = droneRepository.findSnapshotByIdIn(ids).stream()
+                .filter(drone -> transition.getFrom().contains(drone.getState()))
+                .toList();
+        if (drones.isEmpty()) {
+            return 0;
         }
+        int[] counts = droneRepository.transitionState(drones, transition);
 
+        List<DroneSnapshotView> moved = new ArrayList<>();
+        for (int index = 0; index < drones.size(); index++) {
+            if (counts[index] > 0) {
+                moved.add(drones.get(index));
+            }
+        }
+        List<Long> movedIds = moved.stream().map(DroneSnapshotView::getId).toList();
+        Double loadedWeight = null;
+        if (transition == DroneTransition.ARRIVE && !movedIds.isEmpty()) {
+            medicationRepository.unloadDrones(movedIds);
+            loadedWeight = 0.0;
+        }
+
+        for (DroneSnapshotView drone : moved) {
+            Integer batteryCapacity = transition.getBatteryCost() == 0 ? null
+                    : transition.batteryAfter(drone.getBatteryCapacity());
+            eventPublisher.publishEvent(new DroneStateChangedEvent(drone.getId(), transition.getTo(),
+                    batteryCapacity, null, loadedWeight));
+        }
+        return moved.size();
     }
 
+    // The medications come from the cache, which a battery report does not evict; the drone's state, battery
+    // and load are taken from the fleet index instead
     @Override
-    public List<Medication> getLoadedMedications(Long id) {
-        Optional<Drone> optionalDrone = droneRepository.findById(id);
-        if (optionalDrone.isEmpty()) {
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<MedicationDto> getLoadedMedications(Long id) {
+        List<MedicationDto> medications = loadedMedicationReader.read(id);
+        if (medications.isEmpty()) {
+            return medications;
+        }
+        DroneDto cached = medications.get(0).getDrone();
+        FleetEntry entry = getFleetEntry(id);
+        DroneDto drone = new DroneDto(cached.getId(), cached.getSerialNumber(), cached.getModel(),
+                entry.getWeightLimit(), entry.getLoadedWeight(), entry.getBatteryCapacity(), entry.getState());
+        return medications.stream()
+                .map(medication -> new MedicationDto(medication.getId(), medication.getName(),
+                        medication.getWeight(), medication.getCode(), medication.getImageName(),
+                        medication.getImageType(), drone))
+                .toList();
+    }
+
+    @Override
+    public List<Medication> getLoadedMedicationsPage(Long id, Long afterId, int limit) {
+        List<Medication> medications = medicationRepository.findPageByDroneId(id, afterId,
+                PageRequest.of(0, limit));
+        // The drone is only looked up when there is nothing to return, to tell an unknown drone from an empty one
+        if (medications.isEmpty() && !droneRepository.existsById(id)) {
             throw new ResourceNotFoundException("Drone", "ID", id);
         }
-        return medicationRepository.findAllByDroneId(optionalDrone.get().getId());
+        return medications;
+    }
+
+    // Two queries whatever the number of drones; drones without medications map to an empty list and unknown
+    // drones are left out. The queries share no snapshot, so a drone registered and loaded between them is only
+    // known from its medications
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Map<Long, List<DroneMedicationView>> getLoadedMedicationsByDroneIds(Collection<Long> droneIds) {
+        Map<Long, List<DroneMedicationView>> medicationsByDrone = new TreeMap<>();
+        droneRepository.findExistingIds(droneIds).forEach(id -> medicationsByDrone.put(id, new ArrayList<>()));
+        medicationRepository.findViewsByDroneIdIn(droneIds).forEach(medication -> medicationsByDrone
+                .computeIfAbsent(medication.getDroneId(), id -> new ArrayList<>()).add(medication));
+        return medicationsByDrone;
     }
 
+    // Polled for every drone by dispatch clients, so these two are served from the fleet index and do not
+    // open a transaction of their own
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public Boolean checkDroneAvailability(Long id) {
-        Drone drone = droneRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", id));
+        FleetEntry entry = getFleetEntry(id);
 
         // Should be in Idle state and not in low battery
-        boolean hasSufficientBattery = drone.getBatteryCapacity() >= LOW_BATTERY;
-        boolean isInIdleState = drone.getState() == DroneState.IDLE;
+        boolean hasSufficientBattery = entry.getBatteryCapacity() >= LOW_BATTERY;
+        boolean isInIdleState = entry.getState() == DroneState.IDLE;
         return hasSufficientBattery && isInIdleState;
     }
 
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public Integer checkBattery(Long id) {
-        Drone drone = droneRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", id));
-        return drone.getBatteryCapacity();
+        return getFleetEntry(id).getBatteryCapacity();
+    }
+
+    private FleetEntry getFleetEntry(Long id) {
+        return fleetStateIndex.find(id).orElseGet(() -> {
+            // Stamped before the read, so the snapshot is not indexed if a change commits meanwhile
+            long readStamp = fleetStateIndex.changeStamp();
+            Drone drone = droneRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", id));
+            FleetEntry entry = FleetEntry.of(drone, drone.getLoadedWeight());
+            fleetStateIndex.put(id, entry, readStamp);
+            return entry;
+        });
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public KeysetPageDto<DroneSummaryView> listDrones(DroneState state, DroneModel model, Long afterId,
+            Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<DroneSummaryView> drones = droneRepository.findSummaryPage(state, model, afterId,
+                PageRequest.of(0, pageSize));
+
+        Long nextAfterId = drones.size() < pageSize ? null : drones.get(drones.size() - 1).getId();
+        return new KeysetPageDto<>(drones, nextAfterId);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public KeysetPageDto<AvailableDroneView> findAvailableDrones(Double minCapacity, Integer minBattery,
+            DroneModel model, Long afterId, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Drones below the low battery threshold can never be loaded, whatever the caller asks for
+        int batteryThreshold = Math.max(minBattery, LOW_BATTERY);
+
+        List<AvailableDroneView> drones = droneRepository.findAvailable(LOADABLE_STATES, batteryThreshold,
+                minCapacity, model, afterId, PageRequest.of(0, pageSize));
+
+        Long nextAfterId = drones.size() < pageSize ? null : drones.get(drones.size() - 1).getId();
+        return new KeysetPageDto<>(drones, nextAfterId);
     }
 }
@@ -0,0 +1,39 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.config.CacheNames;
+import com.hitachi.drone.dto.DroneDto;
+import com.hitachi.drone.dto.MedicationDto;
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads the medications loaded on a drone through the drone-medications cache. The drone carried by each
+ * medication is as it was when read; {@link DroneService} replaces its state, battery and load with the current
+ * ones, so battery reports do not have to evict the cache.
+ */
+@Component
+@AllArgsConstructor
+@Transactional
+public class LoadedMedicationReader {
+    private final DroneRepository droneRepository;
+    private final MedicationRepository medicationRepository;
+
+    // Mapped inside the transaction, so the cache only ever holds plain DTOs
+    @Cacheable(cacheNames = CacheNames.DRONE_MEDICATIONS, key = "#droneId")
+    public List<MedicationDto> read(Long droneId) {
+        Drone drone = droneRepository.findById(droneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Drone", "ID", droneId));
+        DroneDto droneDto = DroneDto.of(drone);
+        return medicationRepository.findAllByDroneId(droneId).stream()
+                .map(medication -> MedicationDto.of(medication, droneDto))
+                .toList();
+    }
+}
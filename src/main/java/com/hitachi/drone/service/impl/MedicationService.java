@@ -0,0 +1,80 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.config.CacheNames;
+import com.hitachi.drone.dto.ImageMetadataDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.entity.MedicationImage;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationImageRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import com.hitachi.drone.service.IMedicationService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class MedicationService implements IMedicationService {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final MedicationRepository medicationRepository;
+    private final MedicationImageRepository medicationImageRepository;
+    private final DroneRepository droneRepository;
+
+    // Keyset pages over projections, so deep pages cost the same as the first and no drone or image is loaded
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public KeysetPageDto<DroneMedicationView> listMedications(Long droneId, Long afterId, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<DroneMedicationView> medications = droneId == null
+                ? medicationRepository.findViewPage(afterId, page)
+                : medicationRepository.findViewPageByDroneId(droneId, afterId, page);
+        // The drone is only looked up when there is nothing to return, to tell an unknown drone from an empty one
+        if (droneId != null && medications.isEmpty() && !droneRepository.existsById(droneId)) {
+            throw new ResourceNotFoundException("Drone", "ID", droneId);
+        }
+
+        Long nextAfterId = medications.size() < pageSize ? null : medications.get(medications.size() - 1).getId();
+        return new KeysetPageDto<>(medications, nextAfterId);
+    }
+
+    // Only the image's name and type are cached. Neither changes once the medication is loaded, and the
+    // medication is not removed when its drone delivers it, so nothing is evicted
+    @Override
+    @Cacheable(cacheNames = CacheNames.MEDICATION_IMAGES, key = "#id")
+    public ImageMetadataDto getImageMetadata(Long id) {
+        Medication medication = medicationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Medication", "ID", id));
+
+        if (!medicationImageRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Medication image", "ID", id);
+        }
+        return new ImageMetadataDto(medication.getImageName(), medication.getImageType());
+    }
+
+    @Override
+    public void streamImage(Long id, OutputStream outputStream) throws IOException {
+        MedicationImage image = medicationImageRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Medication image", "ID", id));
+
+        // Copy through a fixed buffer so the image is never fully materialized on the heap
+        try (InputStream inputStream = image.getImageData().getBinaryStream()) {
+            inputStream.transferTo(outputStream);
+        } catch (SQLException e) {
+            throw new IOException("Unable to read image of medication " + id, e);
+        }
+    }
+}
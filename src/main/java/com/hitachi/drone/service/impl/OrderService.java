@@ -0,0 +1,182 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.dto.DeliveryOrderDto;
+import com.hitachi.drone.dto.DeliveryOrderRequestDto;
+import com.hitachi.drone.dto.OrderIntakeResponseDto;
+import com.hitachi.drone.entity.DeliveryOrder;
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.OrderStatus;
+import com.hitachi.drone.exceptions.NoDroneAvailableException;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.TransitionGuard;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.repository.DeliveryOrderRepository;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.IDroneService;
+import com.hitachi.drone.service.IOrderService;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Durable queue of medications to load. Orders are accepted immediately and loaded later by the order workers,
+ * so the intake rate is independent of how fast drones can be loaded.
+ * <p>
+ * An order is loaded in the same transaction that marks it loaded, under a row lock on the order, so it is never
+ * loaded twice. A load that loses the drone's version check to a concurrent one is retried in a fresh transaction,
+ * the one it ran in being rolled back. A worker that dies while holding a claim leaves the order to be taken over
+ * once the claim expires; a worker that finds its claim expired leaves the order alone.
+ */
+@Service
+@Transactional
+public class OrderService implements IOrderService {
+    // Drones considered for an order without a requested drone; orders are spread over them by id, so
+    // concurrent workers rarely load the same drone
+    private static final int CANDIDATE_DRONES = 16;
+    // Length limit of the stored error
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final DeliveryOrderRepository deliveryOrderRepository;
+    private final DroneRepository droneRepository;
+    private final IDroneService droneService;
+    private final Duration claimDuration;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final int maxAttempts;
+
+    public OrderService(DeliveryOrderRepository deliveryOrderRepository, DroneRepository droneRepository,
+            IDroneService droneService,
+            @Value("${drone.orders.claim-ms:60000}") long claimMillis,
+            @Value("${drone.orders.retry.delay-ms:1000}") long retryDelayMillis,
+            @Value("${drone.orders.retry.max-delay-ms:60000}") long maxRetryDelayMillis,
+            @Value("${drone.orders.retry.max-attempts:20}") int maxAttempts) {
+        this.deliveryOrderRepository = deliveryOrderRepository;
+        this.droneRepository = droneRepository;
+        this.droneService = droneService;
+        this.claimDuration = Duration.ofMillis(claimMillis);
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        this.maxRetryDelay = Duration.ofMillis(maxRetryDelayMillis);
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public OrderIntakeResponseDto submitOrders(List<DeliveryOrderRequestDto> orders) {
+        Instant now = Instant.now();
+        List<DeliveryOrder> saved = deliveryOrderRepository.saveAll(orders.stream()
+                .map(order -> new DeliveryOrder(null, order.getDroneId(), order.getMedication().getName(),
+                        order.getMedication().getWeight(), order.getMedication().getCode(), OrderStatus.PENDING, 0,
+                        now, null, null, null, now))
+                .toList());
+        return new OrderIntakeResponseDto(saved.size(), saved.stream().map(DeliveryOrder::getId).toList());
+    }
+
+    @Override
+    public DeliveryOrderDto getOrder(Long orderId) {
+        return deliveryOrderRepository.findById(orderId).map(DeliveryOrderDto::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "ID", orderId));
+    }
+
+    // Claims are committed right away, so the row locks are only held for the claim itself
+    @Override
+    public List<Long> claimOrders(int limit) {
+        Instant now = Instant.now();
+        List<DeliveryOrder> claimed = deliveryOrderRepository.findClaimable(now, limit);
+        claimed.forEach(order -> {
+            order.setStatus(OrderStatus.CLAIMED);
+            order.setClaimedUntil(now.plus(claimDuration));
+        });
+        return claimed.stream().map(DeliveryOrder::getId).toList();
+    }
+
+    // The load joins this transaction, so the medication and the order status commit together, and a failed
+    // load leaves the order claimed for the worker to retry or fail. The retry of the load itself cannot run in
+    // a joined transaction, so the whole order is retried here, each attempt in a transaction of its own
+    @Override
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${drone.load.retry.max-attempts:10}",
+            backoff = @Backoff(delayExpression = "${drone.load.retry.delay-ms:5}",
+                    maxDelayExpression = "${drone.load.retry.max-delay-ms:200}", multiplier = 2, random = true))
+    public void processOrder(Long orderId) {
+        DeliveryOrder order = lockOrder(orderId);
+        // Loaded or failed by a worker that took over the claim, or about to be taken over
+        if (order.getStatus() != OrderStatus.CLAIMED || order.getClaimedUntil() == null
+                || order.getClaimedUntil().isBefore(Instant.now())) {
+            return;
+        }
+        Long droneId = order.getDroneId() != null ? order.getDroneId() : pickDrone(order);
+        droneService.loadDrone(droneId, new Medication(null, order.getMedicationName(),
+                order.getMedicationWeight(), order.getMedicationCode(), null, null, null, null));
+
+        order.setStatus(OrderStatus.LOADED);
+        order.setLoadedDroneId(droneId);
+        order.setAttempts(order.getAttempts() + 1);
+        order.setClaimedUntil(null);
+        order.setLastError(null);
+    }
+
+    @Override
+    public OrderStatus retryOrder(Long orderId, String reason) {
+        DeliveryOrder order = lockOrder(orderId);
+        if (order.getStatus() != OrderStatus.CLAIMED) {
+            return order.getStatus();
+        }
+        int attempts = order.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            return fail(order, attempts, reason);
+        }
+        // Doubles per attempt up to the maximum delay
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 30));
+        order.setStatus(OrderStatus.PENDING);
+        order.setAttempts(attempts);
+        order.setNextAttemptAt(Instant.now().plus(delay.compareTo(maxRetryDelay) < 0 ? delay : maxRetryDelay));
+        order.setClaimedUntil(null);
+        order.setLastError(truncate(reason));
+        return OrderStatus.PENDING;
+    }
+
+    @Override
+    public void failOrder(Long orderId, String reason) {
+        DeliveryOrder order = lockOrder(orderId);
+        // The outcome of another worker, such as a load this worker collided with, is kept
+        if (order.getStatus() != OrderStatus.CLAIMED) {
+            return;
+        }
+        fail(order, order.getAttempts() + 1, reason);
+    }
+
+    private DeliveryOrder lockOrder(Long orderId) {
+        return deliveryOrderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "ID", orderId));
+    }
+
+    private OrderStatus fail(DeliveryOrder order, int attempts, String reason) {
+        order.setStatus(OrderStatus.FAILED);
+        order.setAttempts(attempts);
+        order.setClaimedUntil(null);
+        order.setLastError(truncate(reason));
+        return OrderStatus.FAILED;
+    }
+
+    private Long pickDrone(DeliveryOrder order) {
+        List<AvailableDroneView> candidates = droneRepository.findAvailable(DroneTransition.LOAD.getFrom(),
+                TransitionGuard.LOW_BATTERY, order.getMedicationWeight(), null, 0L,
+                PageRequest.of(0, CANDIDATE_DRONES));
+        if (candidates.isEmpty()) {
+            throw new NoDroneAvailableException(order.getMedicationWeight());
+        }
+        return candidates.get((int) (order.getId() % candidates.size())).getId();
+    }
+
+    private static String truncate(String reason) {
+        return reason != null && reason.length() > MAX_ERROR_LENGTH ? reason.substring(0, MAX_ERROR_LENGTH) : reason;
+    }
+}
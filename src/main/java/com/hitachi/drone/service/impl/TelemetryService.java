@@ -0,0 +1,141 @@
+package com.hitachi.drone.service.impl;
+
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.ITelemetryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the latest reported battery level per drone in memory and writes them out in periodic JDBC batches, so
+ * the database sees one write per reporting drone per flush however often the drone reports.
+ * <p>
+ * Binary reports are packed records of {@value ITelemetryService#RECORD_SIZE} bytes: the drone id as a big-endian
+ * 64-bit integer followed by the battery level as one unsigned byte.
+ */
+@Service
+@Transactional
+public class TelemetryService implements ITelemetryService {
+    // Reports per UPDATE batch sent to the database
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    private final DroneRepository droneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPending;
+    private final Counter acceptedReports;
+    private final Counter rejectedReports;
+    private final Counter batteryWrites;
+
+    public TelemetryService(DroneRepository droneRepository, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry, @Value("${drone.telemetry.max-pending:100000}") int maxPending) {
+        this.droneRepository = droneRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxPending = maxPending;
+        acceptedReports = meterRegistry.counter("drone.telemetry.reports", "outcome", "accepted");
+        rejectedReports = meterRegistry.counter("drone.telemetry.reports", "outcome", "rejected");
+        batteryWrites = meterRegistry.counter("drone.telemetry.writes");
+    }
+
+    // Called for every report, so it stays out of any transaction and only touches the in-memory map
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public boolean recordBattery(Long droneId, Integer batteryCapacity) {
+        if (droneId == null || batteryCapacity == null || batteryCapacity < 0 || batteryCapacity > 100
+                || (pending.size() >= maxPending && !pending.containsKey(droneId))) {
+            rejectedReports.increment();
+            return false;
+        }
+        pending.put(droneId, batteryCapacity);
+        acceptedReports.increment();
+        return true;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public int recordBinary(ByteBuffer records) {
+        int accepted = 0;
+        while (records.remaining() >= RECORD_SIZE) {
+            if (recordBattery(records.getLong(), Byte.toUnsignedInt(records.get()))) {
+                accepted++;
+            }
+        }
+        if (records.hasRemaining()) {
+            // A truncated trailing record
+            rejectedReports.increment();
+        }
+        return accepted;
+    }
+
+    @Override
+    public int flushBatteries() {
+        int written = 0;
+        Map<Long, Integer> taken = new HashMap<>();
+        // Whatever is taken goes back unless the flush commits, so the readings are written by the next one
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(taken);
+                    }
+                }
+            });
+        }
+        try {
+            Map<Long, Integer> chunk = new LinkedHashMap<>();
+            // Each entry is removed on its own, so a report arriving meanwhile is either in this flush or the next
+            for (Long droneId : pending.keySet()) {
+                Integer batteryCapacity = pending.remove(droneId);
+                if (batteryCapacity != null) {
+                    taken.put(droneId, batteryCapacity);
+                    chunk.put(droneId, batteryCapacity);
+                }
+                if (chunk.size() == FLUSH_CHUNK_SIZE) {
+                    written += writeBatteries(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                written += writeBatteries(chunk);
+            }
+        } catch (RuntimeException exception) {
+            restore(taken);
+            throw exception;
+        }
+        return written;
+    }
+
+    // A report that arrived since the flush took its drone's reading is newer and wins
+    private void restore(Map<Long, Integer> taken) {
+        taken.forEach(pending::putIfAbsent);
+    }
+
+    private int writeBatteries(Map<Long, Integer> batteryByDroneId) {
+        int[] counts = droneRepository.updateBatteryCapacities(batteryByDroneId);
+        int written = 0;
+        int index = 0;
+        for (Map.Entry<Long, Integer> entry : batteryByDroneId.entrySet()) {
+            // Reports of unknown drones update nothing and are dropped here
+            if (counts[index++] > 0) {
+                eventPublisher.publishEvent(
+                        new DroneStateChangedEvent(entry.getKey(), null, entry.getValue(), null, null));
+                written++;
+            }
+        }
+        batteryWrites.increment(written);
+        return written;
+    }
+}
@@ -0,0 +1,87 @@
+package com.hitachi.drone.telemetry;
+
+import com.hitachi.drone.service.ITelemetryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Receives binary battery reports as UDP datagrams, each holding one or more packed records in the format of
+ * {@link ITelemetryService}. Lost datagrams are acceptable, since every drone keeps reporting.
+ */
+@Component
+@ConditionalOnProperty(name = "drone.telemetry.udp.enabled", havingValue = "true")
+public class TelemetryUdpListener implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryUdpListener.class);
+    // Largest UDP payload
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+
+    private final ITelemetryService telemetryService;
+    private final int port;
+    private volatile DatagramChannel channel;
+
+    public TelemetryUdpListener(ITelemetryService telemetryService,
+            @Value("${drone.telemetry.udp.port:9876}") int port) {
+        this.telemetryService = telemetryService;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        try {
+            channel = DatagramChannel.open().bind(new InetSocketAddress(port));
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Unable to listen for telemetry on UDP port " + port, exception);
+        }
+        Thread receiver = new Thread(this::receive, "telemetry-udp");
+        receiver.setDaemon(true);
+        receiver.start();
+        logger.info("Listening for telemetry on UDP port {}", getPort());
+    }
+
+    @Override
+    public void stop() {
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            logger.warn("Unable to close the telemetry channel", exception);
+        }
+        channel = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return channel != null;
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) channel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    private void receive() {
+        DatagramChannel receiving = channel;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+        while (receiving.isOpen()) {
+            try {
+                buffer.clear();
+                receiving.receive(buffer);
+                buffer.flip();
+                telemetryService.recordBinary(buffer);
+            } catch (ClosedChannelException exception) {
+                return;
+            } catch (IOException | RuntimeException exception) {
+                logger.warn("Unable to receive telemetry", exception);
+            }
+        }
+    }
+}
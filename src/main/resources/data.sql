@@ -1,12 +0,0 @@
-INSERT INTO drone (serial_number, model, weight_limit, battery_capacity, state)
-VALUES
-    ('SN001', 'LIGHTWEIGHT', 400, 100.0, 'IDLE'),
-    ('SN002', 'MIDDLEWEIGHT', 600, 80.0, 'IDLE'),
-    ('SN003', 'CRUISERWEIGHT', 800, 90.0, 'IDLE'),
-    ('SN004', 'HEAVYWEIGHT', 1000, 70.0, 'IDLE'),
-    ('SN005', 'LIGHTWEIGHT', 400, 50.0, 'IDLE'),
-    ('SN006', 'MIDDLEWEIGHT', 600, 60.0, 'IDLE'),
-    ('SN007', 'CRUISERWEIGHT', 800, 30.0, 'IDLE'),
-    ('SN008', 'HEAVYWEIGHT', 1000, 40.0, 'IDLE'),
-    ('SN009', 'LIGHTWEIGHT', 400, 85.0, 'IDLE'),
-    ('SN010', 'MIDDLEWEIGHT', 600, 95.0, 'IDLE');
\ No newline at end of file
@@ -0,0 +1,71 @@
+
+-- Create the drone table, ids are handed out by Hibernate in blocks of 50 after the 10 pre-loaded drones
+CREATE SEQUENCE drone_seq START WITH 11 INCREMENT BY 50;
+
+CREATE TABLE drone (
+    id BIGINT PRIMARY KEY,
+    serial_number VARCHAR(100) UNIQUE NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    weight_limit DOUBLE NOT NULL,
+    battery_capacity INT NOT NULL,
+    state VARCHAR(50) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Serves the fleet-wide availability search, which filters on state and minimum battery
+CREATE INDEX idx_drone_state_battery ON drone (state, battery_capacity);
+
+-- Create the medication table, ids are handed out by Hibernate in blocks of 50
+CREATE SEQUENCE medication_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE medication (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    weight INT NOT NULL,
+    code VARCHAR(100) UNIQUE NOT NULL,
+    drone_id BIGINT,
+    image_name VARCHAR(255),
+    image_type VARCHAR(255),
+    FOREIGN KEY (drone_id) REFERENCES drone(id)
+);
+
+-- Create the medication image table, kept apart so medication reads never load image bytes
+CREATE TABLE medication_image (
+    medication_id BIGINT PRIMARY KEY,
+    image_data BLOB NOT NULL,
+    FOREIGN KEY (medication_id) REFERENCES medication(id)
+);
+
+-- Battery history per drone, aggregated per minute and per hour; kept apart from the drone so it outlives it
+CREATE TABLE battery_rollup (
+    drone_id BIGINT NOT NULL,
+    resolution VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    min_battery INT NOT NULL,
+    max_battery INT NOT NULL,
+    battery_sum BIGINT NOT NULL,
+    samples INT NOT NULL,
+    last_battery INT NOT NULL,
+    PRIMARY KEY (drone_id, resolution, bucket_start)
+);
+
+-- Medications waiting to be loaded by the order workers, ids are handed out by Hibernate in blocks of 50
+CREATE SEQUENCE delivery_order_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE delivery_order (
+    id BIGINT PRIMARY KEY,
+    drone_id BIGINT,
+    medication_name VARCHAR(255) NOT NULL,
+    medication_weight DOUBLE NOT NULL,
+    medication_code VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    claimed_until TIMESTAMP(6) WITH TIME ZONE,
+    last_error VARCHAR(255),
+    loaded_drone_id BIGINT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Serves the claim query, which looks for pending orders that are due
+CREATE INDEX idx_delivery_order_status ON delivery_order (status, next_attempt_at);
@@ -0,0 +1,13 @@
+-- The 10 drones the application comes with, drone_seq hands out ids from 11 on
+INSERT INTO drone (id, serial_number, model, weight_limit, battery_capacity, state)
+VALUES
+    (1, 'SN001', 'LIGHTWEIGHT', 400, 100.0, 'IDLE'),
+    (2, 'SN002', 'MIDDLEWEIGHT', 600, 80.0, 'IDLE'),
+    (3, 'SN003', 'CRUISERWEIGHT', 800, 90.0, 'IDLE'),
+    (4, 'SN004', 'HEAVYWEIGHT', 1000, 70.0, 'IDLE'),
+    (5, 'SN005', 'LIGHTWEIGHT', 400, 50.0, 'IDLE'),
+    (6, 'SN006', 'MIDDLEWEIGHT', 600, 60.0, 'IDLE'),
+    (7, 'SN007', 'CRUISERWEIGHT', 800, 30.0, 'IDLE'),
+    (8, 'SN008', 'HEAVYWEIGHT', 1000, 40.0, 'IDLE'),
+    (9, 'SN009', 'LIGHTWEIGHT', 400, 85.0, 'IDLE'),
+    (10, 'SN010', 'MIDDLEWEIGHT', 600, 95.0, 'IDLE');
\ No newline at end of file
@@ -0,0 +1,11 @@
+-- Serves every lookup of a drone's medications, and the keyset pages over them in id order
+CREATE INDEX idx_medication_drone ON medication (drone_id, id);
+
+-- Weights are fractional everywhere else; stored as INT they were truncated on load
+ALTER TABLE medication ALTER COLUMN weight SET DATA TYPE DOUBLE PRECISION;
+
+-- The weight of the medications on board, kept with every load and reset on arrival, so capacity checks and
+-- the availability search no longer sum the medication rows
+ALTER TABLE drone ADD COLUMN loaded_weight DOUBLE PRECISION DEFAULT 0 NOT NULL;
+
+UPDATE drone SET loaded_weight = (SELECT COALESCE(SUM(m.weight), 0) FROM medication m WHERE m.drone_id = drone.id);
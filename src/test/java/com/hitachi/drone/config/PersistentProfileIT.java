@@ -0,0 +1,60 @@
+package com.hitachi.drone.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hitachi.drone.DroneApplication;
+
+// Boots the application twice on the same database file, the way it is run with the persistent profile
+@ExtendWith(OutputCaptureExtension.class)
+public class PersistentProfileIT {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void testFleetSurvivesRestart(CapturedOutput output) {
+        // GIVEN
+        try (ConfigurableApplicationContext context = start()) {
+            assertThat(context.getBean(Flyway.class).info().applied()).hasSize(3);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM drone", Integer.class)).isEqualTo(10);
+            jdbcTemplate.update("UPDATE drone SET state = 'LOADED' WHERE id = 1");
+        }
+
+        // WHEN
+        try (ConfigurableApplicationContext context = start()) {
+            // THEN
+            assertThat(context.getBean(Flyway.class).info().pending()).isEmpty();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM drone", Integer.class)).isEqualTo(10);
+            assertThat(jdbcTemplate.queryForObject("SELECT state FROM drone WHERE id = 1", String.class))
+                    .isEqualTo("LOADED");
+        }
+        assertThat(output).contains("Successfully applied 3 migrations", "Schema \"PUBLIC\" is up to date");
+        assertThat(output).contains("acquired a connection in");
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DroneApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=persistent",
+                        "--drone.data-dir=" + dataDir,
+                        "--spring.flyway.enabled=true",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--drone.orders.enabled=false",
+                        "--drone.scheduler.initial-delay-ms=3600000");
+    }
+}
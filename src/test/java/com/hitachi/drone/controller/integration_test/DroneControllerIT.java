@@ -6,6 +6,7 @@ import com.hitachi.drone.entity.Medication;
 import com.hitachi.drone.enums.DroneModel;
 import com.hitachi.drone.enums.DroneState;
 import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationImageRepository;
 import com.hitachi.drone.repository.MedicationRepository;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,21 +17,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ResourceUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URLConnection;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -56,6 +62,9 @@ public class DroneControllerIT {
     @Autowired
     MedicationRepository medicationRepository;
 
+    @Autowired
+    MedicationImageRepository medicationImageRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -108,6 +117,34 @@ public class DroneControllerIT {
                 .andExpect(jsonPath("$.batteryCapacity").value(BATTERY_CAPACITY));
     }
 
+    @Transactional
+    @Test
+    void testRegisterDronesBulk() throws Exception {
+        // GIVEN
+        droneRepository.save(otherDrone("SERIAL_STORED", BATTERY_CAPACITY));
+        Drone invalidDrone = otherDrone("SERIAL_003", 120);
+        List<Drone> drones = List.of(drone, otherDrone("SERIAL_STORED", BATTERY_CAPACITY), invalidDrone,
+                otherDrone("SERIAL_002", BATTERY_CAPACITY));
+
+        // WHEN
+        this.mockMvc.perform(
+                post("/api/drones/register/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(drones)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.registered").value(2))
+                .andExpect(jsonPath("$.rejected[0].index").value(1))
+                .andExpect(jsonPath("$.rejected[0].errors[0]")
+                        .value("serialNumber: Drone with this serial number already exists"))
+                .andExpect(jsonPath("$.rejected[1].index").value(2))
+                .andExpect(jsonPath("$.rejected[1].key").value("SERIAL_003"));
+
+        // THEN
+        assertThat(droneRepository.findExistingSerialNumbers(List.of(SERIAL_NUMBER, "SERIAL_002", "SERIAL_003")))
+                .containsExactlyInAnyOrder(SERIAL_NUMBER, "SERIAL_002");
+    }
+
     @Transactional
     @Test
     void testLoadDrone() throws Exception {
@@ -131,7 +168,59 @@ public class DroneControllerIT {
         assertThat(medications.get(0).getCode()).isEqualTo(MEDICATION_CODE);
         assertThat(medications.get(0).getImageName()).isEqualTo(imageName);
         assertThat(medications.get(0).getImageType()).isEqualTo(imageType);
-        assertThat(medications.get(0).getImageData()).isEqualTo(imageData);
+        assertThat(medicationImageRepository.findById(medications.get(0).getId()))
+                .hasValueSatisfying(image -> assertThat(image.getImageData()).isNotNull());
+    }
+
+    @Transactional
+    @Test
+    void testLoadDroneBatch() throws Exception {
+        // GIVEN
+        droneRepository.save(drone);
+        Medication otherMedication = new Medication();
+        otherMedication.setName(MEDICATION_NAME);
+        otherMedication.setWeight(MEDICATION_WEIGHT);
+        otherMedication.setCode(MEDICATION_CODE + "_B");
+
+        // WHEN
+        this.mockMvc.perform(
+                post("/api/drones/" + drone.getId() + "/load/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(medication, otherMedication))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.statusMsg").value("Drone loaded successfully with 2 medications"));
+
+        // THEN
+        assertThat(medicationRepository.findAllByDroneId(drone.getId()))
+                .extracting(Medication::getWeight)
+                .containsExactly(MEDICATION_WEIGHT, MEDICATION_WEIGHT);
+        assertThat(droneRepository.findById(drone.getId()).orElseThrow().getLoadedWeight())
+                .isEqualTo(MEDICATION_WEIGHT * 2);
+    }
+
+    @Transactional
+    @Test
+    void testLoadDroneBatchReportsInvalidItems() throws Exception {
+        // GIVEN
+        droneRepository.save(drone);
+        Medication invalidMedication = new Medication();
+        invalidMedication.setName("invalid name");
+        invalidMedication.setWeight(MEDICATION_WEIGHT);
+        invalidMedication.setCode(MEDICATION_CODE);
+
+        // WHEN
+        this.mockMvc.perform(
+                post("/api/drones/" + drone.getId() + "/load/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(medication, invalidMedication))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.itemErrors.size()").value(1))
+                .andExpect(jsonPath("$.itemErrors[0].index").value(1))
+                .andExpect(jsonPath("$.itemErrors[0].errors").value(hasItem("name: Invalid name format")))
+                .andExpect(jsonPath("$.itemErrors[0].errors").value(hasItem("code: Duplicate code within batch")));
+
+        // THEN
+        assertThat(medicationRepository.findAllByDroneId(drone.getId())).isEmpty();
     }
 
     @Transactional
@@ -154,6 +243,119 @@ public class DroneControllerIT {
                 .andExpect(jsonPath("$.[*].imageType").value(hasItem(imageType)));
     }
 
+    // Not transactional, the pages are read on the async thread in transactions of their own
+    @Test
+    void testStreamMedications() throws Exception {
+        // GIVEN
+        droneRepository.save(drone);
+        List<Medication> medications = IntStream.range(0, 250)
+                .mapToObj(i -> new Medication(null, MEDICATION_NAME, 1.0, "STREAM_" + i, null, null, null, drone))
+                .toList();
+        medicationRepository.saveAll(medications);
+
+        try {
+            // WHEN
+            MvcResult result = this.mockMvc.perform(
+                    get("/api/drones/" + drone.getId() + "/medications")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = this.mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // THEN
+            List<String> codes = body.lines().map(line -> {
+                try {
+                    return objectMapper.readValue(line, Medication.class).getCode();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+            assertThat(codes).containsExactlyElementsOf(medications.stream().map(Medication::getCode).toList());
+        } finally {
+            medicationRepository.deleteAll(medications);
+            droneRepository.delete(drone);
+        }
+    }
+
+    // Not transactional, the chunks are read on the async thread in transactions of their own
+    @Test
+    void testBatchGetMedications() throws Exception {
+        // GIVEN
+        drone.setSerialNumber("BATCH_GET_001");
+        droneRepository.save(drone);
+        Drone emptyDrone = new Drone();
+        emptyDrone.setSerialNumber("BATCH_GET_002");
+        emptyDrone.setModel(MODEL);
+        emptyDrone.setState(STATE);
+        emptyDrone.setBatteryCapacity(BATTERY_CAPACITY);
+        emptyDrone.setWeightLimit(DRONE_WEIGHT_LIMIT);
+        droneRepository.save(emptyDrone);
+        List<Medication> medications = IntStream.range(0, 3)
+                .mapToObj(i -> new Medication(null, MEDICATION_NAME, 1.0, "BATCH_GET_" + i, imageName, null,
+                        imageType, drone))
+                .toList();
+        medicationRepository.saveAll(medications);
+        long unknownId = emptyDrone.getId() + 1000;
+
+        try {
+            // WHEN
+            MvcResult result = this.mockMvc.perform(
+                    post("/api/drones/medications:batchGet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"droneIds\":[" + unknownId + "," + emptyDrone.getId() + "," + drone.getId()
+                                    + "," + drone.getId() + "]}"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // THEN
+            this.mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.drones.size()").value(2))
+                    .andExpect(jsonPath("$.drones[0].droneId").value(drone.getId()))
+                    .andExpect(jsonPath("$.drones[0].medications.size()").value(3))
+                    .andExpect(jsonPath("$.drones[0].medications[0].code").value("BATCH_GET_0"))
+                    .andExpect(jsonPath("$.drones[0].medications[0].imageName").value(imageName))
+                    .andExpect(jsonPath("$.drones[0].medications[0].imageData").doesNotExist())
+                    .andExpect(jsonPath("$.drones[1].droneId").value(emptyDrone.getId()))
+                    .andExpect(jsonPath("$.drones[1].medications.size()").value(0))
+                    .andExpect(jsonPath("$.notFound[0]").value(unknownId));
+        } finally {
+            medicationRepository.deleteAll(medications);
+            droneRepository.deleteAll(List.of(drone, emptyDrone));
+        }
+    }
+
+    @Transactional
+    @Test
+    void testListDronesAndMedications() throws Exception {
+        // GIVEN
+        droneRepository.save(drone);
+        medication.setDrone(drone);
+        medicationRepository.save(medication);
+
+        // WHEN
+        this.mockMvc.perform(
+                get("/api/drones")
+                        .param("afterId", String.valueOf(drone.getId() - 1))
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(drone.getId()))
+                .andExpect(jsonPath("$.items[0].serialNumber").value(SERIAL_NUMBER))
+                .andExpect(jsonPath("$.nextAfterId").value(drone.getId()));
+        this.mockMvc.perform(
+                get("/api/medications")
+                        .param("droneId", drone.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].droneId").value(drone.getId()))
+                .andExpect(jsonPath("$.items[0].code").value(MEDICATION_CODE))
+                .andExpect(jsonPath("$.items[0].imageName").value(imageName))
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+    }
+
     @Transactional
     @Test
     void testCheckDroneAvailability() throws Exception {
@@ -167,6 +369,45 @@ public class DroneControllerIT {
                 .andExpect(content().string("true"));
     }
 
+    @Transactional
+    @Test
+    void testFindAvailableDrones() throws Exception {
+        // GIVEN
+        droneRepository.save(drone);
+        Drone lowBatteryDrone = otherDrone("SERIAL_002", 20);
+        Drone loadedDrone = otherDrone("SERIAL_003", BATTERY_CAPACITY);
+        loadedDrone.setLoadedWeight(DRONE_WEIGHT_LIMIT - 100);
+        droneRepository.save(lowBatteryDrone);
+        droneRepository.save(loadedDrone);
+        medication.setWeight(DRONE_WEIGHT_LIMIT - 100);
+        medication.setDrone(loadedDrone);
+        medicationRepository.save(medication);
+        Drone secondAvailableDrone = otherDrone("SERIAL_004", BATTERY_CAPACITY);
+        droneRepository.save(secondAvailableDrone);
+
+        // WHEN
+        this.mockMvc.perform(
+                get("/api/drones/available")
+                        .param("minCapacity", "350")
+                        .param("afterId", String.valueOf(drone.getId() - 1))
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].serialNumber").value(SERIAL_NUMBER))
+                .andExpect(jsonPath("$.items[0].remainingCapacity").value(DRONE_WEIGHT_LIMIT))
+                .andExpect(jsonPath("$.nextAfterId").value(drone.getId()));
+
+        this.mockMvc.perform(
+                get("/api/drones/available")
+                        .param("minCapacity", "350")
+                        .param("afterId", String.valueOf(drone.getId()))
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].serialNumber").value("SERIAL_004"))
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+    }
+
     @Transactional
     @Test
     void testCheckBatterySuccess() throws Exception {
@@ -179,4 +420,14 @@ public class DroneControllerIT {
                 .andExpect(status().isOk())
                 .andExpect(content().string(BATTERY_CAPACITY.toString()));
     }
+
+    private Drone otherDrone(String serialNumber, Integer batteryCapacity) {
+        Drone otherDrone = new Drone();
+        otherDrone.setSerialNumber(serialNumber);
+        otherDrone.setModel(MODEL);
+        otherDrone.setState(STATE);
+        otherDrone.setBatteryCapacity(batteryCapacity);
+        otherDrone.setWeightLimit(DRONE_WEIGHT_LIMIT);
+        return otherDrone;
+    }
 }
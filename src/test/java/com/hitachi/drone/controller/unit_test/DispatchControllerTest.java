@@ -0,0 +1,83 @@
+package com.hitachi.drone.controller.unit_test;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.hitachi.drone.controller.DispatchController;
+import com.hitachi.drone.dto.DispatchPlanDto;
+import com.hitachi.drone.dto.DroneAssignmentDto;
+import com.hitachi.drone.enums.PackingStrategy;
+import com.hitachi.drone.service.IDispatchService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DispatchController.class)
+public class DispatchControllerTest {
+        private static final Long DRONE_ID = 1001L;
+        private static final String SERIAL_NUMBER = "SERIAL_001";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private IDispatchService dispatchService;
+
+        @Test
+        void testPlan() throws Exception {
+                // GIVEN
+                given(dispatchService.plan(argThat(request -> request.getItems().size() == 2
+                                && request.getStrategy() == PackingStrategy.BEST_FIT_DECREASING)))
+                                .willReturn(new DispatchPlanDto(PackingStrategy.BEST_FIT_DECREASING, 1,
+                                                List.of(new DroneAssignmentDto(DRONE_ID, SERIAL_NUMBER,
+                                                                List.of("CODE_1"), 300.0, 100.0)),
+                                                List.of("CODE_2")));
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/dispatch/plan")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"strategy\":\"BEST_FIT_DECREASING\",\"items\":["
+                                                                + "{\"code\":\"CODE_1\",\"weight\":300},"
+                                                                + "{\"code\":\"CODE_2\",\"weight\":900}]}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.assignments[0].droneId").value(DRONE_ID))
+                                .andExpect(jsonPath("$.assignments[0].codes[0]").value("CODE_1"))
+                                .andExpect(jsonPath("$.unassigned[0]").value("CODE_2"));
+        }
+
+        @Test
+        void testPlanRejectsInvalidItems() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/dispatch/plan")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"items\":[{\"code\":\"CODE_1\",\"weight\":-1}]}"))
+                                .andExpect(status().isBadRequest());
+                // THEN
+                verify(dispatchService, never()).plan(any());
+        }
+
+        @Test
+        void testPlanRejectsNullItem() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/dispatch/plan")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"items\":[{\"code\":\"CODE_1\",\"weight\":10},null]}"))
+                                .andExpect(status().isBadRequest());
+                // THEN
+                verify(dispatchService, never()).plan(any());
+        }
+}
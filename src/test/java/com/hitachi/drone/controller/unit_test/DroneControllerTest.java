@@ -4,38 +4,67 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URLConnection;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.ResourceUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hitachi.drone.controller.DroneController;
+import com.hitachi.drone.dto.BatchItemErrorDto;
+import com.hitachi.drone.dto.BatteryHistoryPointDto;
+import com.hitachi.drone.dto.BulkRegistrationResponseDto;
+import com.hitachi.drone.dto.DroneDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.dto.MedicationDto;
 import com.hitachi.drone.entity.Drone;
 import com.hitachi.drone.entity.Medication;
 import com.hitachi.drone.enums.DroneModel;
 import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneEventBroadcaster;
+import com.hitachi.drone.exceptions.BatchValidationException;
 import com.hitachi.drone.exceptions.BatteryLowException;
+import com.hitachi.drone.exceptions.InvalidRangeException;
+import com.hitachi.drone.exceptions.InvalidStateTransitionException;
 import com.hitachi.drone.exceptions.OverloadException;
 import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.idempotency.IdempotencyFilter;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.projection.DroneSummaryView;
+import com.hitachi.drone.service.IBatteryHistoryService;
 import com.hitachi.drone.service.IDroneService;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.hamcrest.Matchers.hasItem;
@@ -61,6 +90,12 @@ public class DroneControllerTest {
         @MockitoBean
         private IDroneService droneService;
 
+        @MockitoBean
+        private DroneEventBroadcaster droneEventBroadcaster;
+
+        @MockitoBean
+        private IBatteryHistoryService batteryHistoryService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -108,7 +143,63 @@ public class DroneControllerTest {
                                                 .content(objectMapper.writeValueAsString(drone)))
                                 .andExpect(status().isCreated())
                                 .andExpect(jsonPath("$.serialNumber").value(SERIAL_NUMBER))
-                                .andExpect(jsonPath("$.weightLimit").value(DRONE_WEIGHT_LIMIT));
+                                .andExpect(jsonPath("$.weightLimit").value(DRONE_WEIGHT_LIMIT))
+                                .andExpect(jsonPath("$.loadedWeight").value(0.0))
+                                .andExpect(jsonPath("$.medications").doesNotExist());
+        }
+
+        @Test
+        void testRegisterDronesFromNdjsonStream() throws Exception {
+                // GIVEN
+                given(droneService.registerDrones(anyList(), eq(0)))
+                                .willReturn(new BulkRegistrationResponseDto(2, 1, List.of(
+                                                new BatchItemErrorDto(1, SERIAL_NUMBER, List.of("serialNumber: "
+                                                                + "Duplicate serial number within request")))));
+                String body = objectMapper.writeValueAsString(drone) + "\n" + objectMapper.writeValueAsString(drone);
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/register/bulk")
+                                                .contentType(MediaType.APPLICATION_NDJSON)
+                                                .content(body))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.received").value(2))
+                                .andExpect(jsonPath("$.registered").value(1))
+                                .andExpect(jsonPath("$.rejected[0].index").value(1))
+                                .andExpect(jsonPath("$.rejected[0].key").value(SERIAL_NUMBER));
+                // THEN
+                verify(droneService).registerDrones(argThat(drones -> drones.size() == 2), eq(0));
+        }
+
+        @Test
+        void testRegisterDronesReportsRowsOfConflictingChunk() throws Exception {
+                // GIVEN
+                given(droneService.registerDrones(anyList(), eq(0)))
+                                .willReturn(new BulkRegistrationResponseDto(500, 500, List.of()));
+                given(droneService.registerDrones(anyList(), eq(500)))
+                                .willThrow(new DataIntegrityViolationException("Unique index violated"));
+                List<Drone> drones = Collections.nCopies(501, drone);
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/register/bulk")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(drones)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.received").value(501))
+                                .andExpect(jsonPath("$.registered").value(500))
+                                .andExpect(jsonPath("$.rejected[0].index").value(500))
+                                .andExpect(jsonPath("$.rejected[0].key").value(SERIAL_NUMBER));
+        }
+
+        @Test
+        void testRegisterDronesRejectsMalformedNdjson() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/register/bulk")
+                                                .contentType(MediaType.APPLICATION_NDJSON)
+                                                .content("{\"serialNumber\": "))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+                                .andExpect(jsonPath("$.errorMessage").value("Malformed request body"));
         }
 
         @Test
@@ -125,6 +216,79 @@ public class DroneControllerTest {
                 verify(droneService).loadDrone(argThat(item -> item.equals(DRONE_ID)), any(Medication.class));
         }
 
+        @Test
+        void testLoadDroneRetryWithIdempotencyKeyIsReplayed() throws Exception {
+                // GIVEN
+                String idempotencyKey = UUID.randomUUID().toString();
+                String body = objectMapper.writeValueAsString(medication);
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load")
+                                                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load")
+                                                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                                .andExpect(jsonPath("$.statusMsg").value("Drone loaded successfully"));
+                // THEN
+                verify(droneService, times(1)).loadDrone(eq(DRONE_ID), any(Medication.class));
+        }
+
+        @Test
+        void testLoadDroneReusedIdempotencyKeyWithOtherBodyIsRejected() throws Exception {
+                // GIVEN
+                String idempotencyKey = UUID.randomUUID().toString();
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load")
+                                                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(medication)))
+                                .andExpect(status().isCreated());
+                medication.setCode("SAMPLE_CODE_02");
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load")
+                                                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(medication)))
+                                .andExpect(status().isUnprocessableEntity())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.UNPROCESSABLE_ENTITY.value()));
+                // THEN
+                verify(droneService, times(1)).loadDrone(eq(DRONE_ID), any(Medication.class));
+        }
+
+        @Test
+        void testLoadDroneServerErrorIsNotKeptForIdempotencyKey() throws Exception {
+                // GIVEN
+                String idempotencyKey = UUID.randomUUID().toString();
+                doThrow(new IllegalStateException("Database unavailable")).doNothing()
+                                .when(droneService).loadDrone(eq(DRONE_ID), any(Medication.class));
+                String body = objectMapper.writeValueAsString(medication);
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load")
+                                                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(body))
+                                .andExpect(status().isInternalServerError());
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load")
+                                                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(body))
+                                .andExpect(status().isCreated())
+                                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+                // THEN
+                verify(droneService, times(2)).loadDrone(eq(DRONE_ID), any(Medication.class));
+        }
+
         @Test
         void testLoadDroneThrowsResourceNotFoundException() throws Exception {
                 // GIVEN
@@ -178,10 +342,72 @@ public class DroneControllerTest {
                                                                 + DRONE_WEIGHT_LIMIT));
         }
 
+        @Test
+        void testLoadDroneBatchSuccess() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load/batch")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(List.of(medication))))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.statusCode").value(HttpStatus.CREATED.value()))
+                                .andExpect(jsonPath("$.statusMsg")
+                                                .value("Drone loaded successfully with 1 medications"));
+                // THEN
+                verify(droneService).loadDroneBatch(argThat(item -> item.equals(DRONE_ID)), anyList());
+        }
+
+        @Test
+        void testLoadDroneBatchThrowsBatchValidationException() throws Exception {
+                // GIVEN
+                doThrow(new BatchValidationException("Unable to load. 1 of 1 medications are invalid",
+                                List.of(new BatchItemErrorDto(0, MEDICATION_CODE,
+                                                List.of("code: Medication with this code already exists")))))
+                                .when(droneService)
+                                .loadDroneBatch(argThat(item -> item.equals(DRONE_ID)), anyList());
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/" + DRONE_ID + "/load/batch")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(List.of(medication))))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+                                .andExpect(jsonPath("$.errorMessage")
+                                                .value("Unable to load. 1 of 1 medications are invalid"))
+                                .andExpect(jsonPath("$.itemErrors[0].index").value(0))
+                                .andExpect(jsonPath("$.itemErrors[0].key").value(MEDICATION_CODE))
+                                .andExpect(jsonPath("$.itemErrors[0].errors[0]")
+                                                .value("code: Medication with this code already exists"));
+        }
+
+        @Test
+        void testDispatchDroneSuccess() throws Exception {
+                // WHEN
+                this.mockMvc.perform(post("/api/drones/" + DRONE_ID + "/dispatch"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.statusMsg").value("Drone dispatched successfully"));
+                // THEN
+                verify(droneService).dispatchDrone(DRONE_ID);
+        }
+
+        @Test
+        void testDispatchDroneThrowsInvalidStateTransitionException() throws Exception {
+                // GIVEN
+                doThrow(new InvalidStateTransitionException("be dispatched", DroneState.IDLE))
+                                .when(droneService).dispatchDrone(DRONE_ID);
+                // WHEN
+                this.mockMvc.perform(post("/api/drones/" + DRONE_ID + "/dispatch"))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.CONFLICT.value()))
+                                .andExpect(jsonPath("$.errorMessage")
+                                                .value("Drone cannot be dispatched while IDLE"));
+        }
+
         @Test
         void testGetMedicationsSuccess() throws Exception {
                 // GIVEN
-                given(droneService.getLoadedMedications(DRONE_ID)).willReturn(List.of(medication));
+                given(droneService.getLoadedMedications(DRONE_ID))
+                                .willReturn(List.of(MedicationDto.of(medication, DroneDto.of(drone))));
                 // WHEN
                 this.mockMvc.perform(
                                 get("/api/drones/" + DRONE_ID + "/medications"))
@@ -191,7 +417,8 @@ public class DroneControllerTest {
                                 .andExpect(jsonPath("$.[*].weight").value(hasItem(MEDICATION_WEIGHT)))
                                 .andExpect(jsonPath("$.[*].code").value(hasItem(MEDICATION_CODE)))
                                 .andExpect(jsonPath("$.[*].imageName").value(hasItem(imageName)))
-                                .andExpect(jsonPath("$.[*].imageType").value(hasItem(imageType)));
+                                .andExpect(jsonPath("$.[*].imageType").value(hasItem(imageType)))
+                                .andExpect(jsonPath("$.[*].drone.state").value(hasItem(STATE.toString())));
         }
 
         @Test
@@ -209,6 +436,77 @@ public class DroneControllerTest {
                                                                 + "'"));
         }
 
+        @Test
+        void testStreamMedicationsSuccess() throws Exception {
+                // GIVEN
+                Medication otherMedication = new Medication();
+                otherMedication.setId(MEDICATION_ID + 1);
+                otherMedication.setName(MEDICATION_NAME);
+                otherMedication.setWeight(MEDICATION_WEIGHT);
+                otherMedication.setCode("SAMPLE_CODE_02");
+                otherMedication.setDrone(drone);
+                medication.setDrone(drone);
+                given(droneService.getLoadedMedicationsPage(DRONE_ID, 0L, 200))
+                                .willReturn(List.of(medication, otherMedication));
+                // WHEN
+                MvcResult result = this.mockMvc.perform(
+                                get("/api/drones/" + DRONE_ID + "/medications")
+                                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                this.mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                                .andExpect(content().string(
+                                                objectMapper.writeValueAsString(
+                                                                MedicationDto.of(medication, DroneDto.of(drone)))
+                                                                + "\n"
+                                                                + objectMapper.writeValueAsString(MedicationDto.of(
+                                                                                otherMedication, DroneDto.of(drone)))
+                                                                + "\n"));
+        }
+
+        @Test
+        void testStreamMedicationsThrowsResourceNotFoundException() throws Exception {
+                // GIVEN
+                given(droneService.getLoadedMedicationsPage(DRONE_ID, 0L, 200))
+                                .willThrow(new ResourceNotFoundException("Drone", "ID", DRONE_ID));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/drones/" + DRONE_ID + "/medications")
+                                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()));
+        }
+
+        @Test
+        void testBatchGetMedicationsRejectsEmptyDroneIds() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/medications:batchGet")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"droneIds\":[]}"))
+                                .andExpect(status().isBadRequest());
+                // THEN
+                verify(droneService, never()).getLoadedMedicationsByDroneIds(any());
+        }
+
+        @Test
+        void testStreamEventsWithFilters() throws Exception {
+                // GIVEN
+                given(droneEventBroadcaster.subscribe(Set.of(DRONE_ID), Set.of(DroneState.IDLE, DroneState.LOADED)))
+                                .willReturn(new SseEmitter());
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/drones/events")
+                                                .param("droneId", DRONE_ID.toString())
+                                                .param("state", "IDLE", "LOADED")
+                                                .accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(request().asyncStarted());
+                // THEN
+                verify(droneEventBroadcaster).subscribe(Set.of(DRONE_ID), Set.of(DroneState.IDLE, DroneState.LOADED));
+        }
+
         @Test
         void testCheckDroneAvailabilitySuccess() throws Exception {
                 // GIVEN
@@ -235,6 +533,80 @@ public class DroneControllerTest {
                                                                 + "'"));
         }
 
+        @Test
+        void testListDronesSuccess() throws Exception {
+                // GIVEN
+                DroneSummaryView summary = new DroneSummaryView() {
+                        public Long getId() {
+                                return DRONE_ID;
+                        }
+
+                        public String getSerialNumber() {
+                                return SERIAL_NUMBER;
+                        }
+
+                        public DroneModel getModel() {
+                                return MODEL;
+                        }
+
+                        public Double getWeightLimit() {
+                                return DRONE_WEIGHT_LIMIT;
+                        }
+
+                        public Integer getBatteryCapacity() {
+                                return BATTERY_CAPACITY;
+                        }
+
+                        public DroneState getState() {
+                                return STATE;
+                        }
+                };
+                given(droneService.listDrones(STATE, null, 0L, 50))
+                                .willReturn(new KeysetPageDto<>(List.of(summary), null));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/drones")
+                                                .param("state", STATE.toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].id").value(DRONE_ID))
+                                .andExpect(jsonPath("$.items[0].serialNumber").value(SERIAL_NUMBER))
+                                .andExpect(jsonPath("$.items[0].model").value(MODEL.toString()))
+                                .andExpect(jsonPath("$.items[0].state").value(STATE.toString()))
+                                .andExpect(jsonPath("$.items[0].batteryCapacity").value(BATTERY_CAPACITY))
+                                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+        }
+
+        @Test
+        void testFindAvailableDronesSuccess() throws Exception {
+                // GIVEN
+                AvailableDroneView availableDrone = new AvailableDroneView() {
+                        public Long getId() {
+                                return DRONE_ID;
+                        }
+
+                        public String getSerialNumber() {
+                                return SERIAL_NUMBER;
+                        }
+
+                        public Double getRemainingCapacity() {
+                                return DRONE_WEIGHT_LIMIT;
+                        }
+                };
+                given(droneService.findAvailableDrones(350.0, 25, MODEL, 0L, 1))
+                                .willReturn(new KeysetPageDto<>(List.of(availableDrone), DRONE_ID));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/drones/available")
+                                                .param("minCapacity", "350")
+                                                .param("model", MODEL.toString())
+                                                .param("limit", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].id").value(DRONE_ID))
+                                .andExpect(jsonPath("$.items[0].serialNumber").value(SERIAL_NUMBER))
+                                .andExpect(jsonPath("$.items[0].remainingCapacity").value(DRONE_WEIGHT_LIMIT))
+                                .andExpect(jsonPath("$.nextAfterId").value(DRONE_ID));
+        }
+
         @Test
         void testCheckBatterySuccess() throws Exception {
                 // GIVEN
@@ -261,4 +633,39 @@ public class DroneControllerTest {
                                                                 + "'"));
         }
 
+
+        @Test
+        void testGetBatteryHistory() throws Exception {
+                // GIVEN
+                Instant from = Instant.parse("2026-01-01T10:00:00Z");
+                Instant to = Instant.parse("2026-01-01T11:00:00Z");
+                given(batteryHistoryService.getBatteryHistory(DRONE_ID, from, to, Duration.ofMinutes(5)))
+                                .willReturn(List.of(new BatteryHistoryPointDto(from, 60, 90, 75.0, 60, 4)));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/drones/" + DRONE_ID + "/battery/history")
+                                                .param("from", from.toString())
+                                                .param("to", to.toString())
+                                                .param("step", "5m"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].start").value(from.toString()))
+                                .andExpect(jsonPath("$[0].averageBattery").value(75.0))
+                                .andExpect(jsonPath("$[0].samples").value(4));
+        }
+
+        @Test
+        void testGetBatteryHistoryThrowsInvalidRangeException() throws Exception {
+                // GIVEN
+                Instant from = Instant.parse("2026-01-01T10:00:00Z");
+                given(batteryHistoryService.getBatteryHistory(DRONE_ID, from, from, null))
+                                .willThrow(new InvalidRangeException(from, from));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/drones/" + DRONE_ID + "/battery/history")
+                                                .param("from", from.toString())
+                                                .param("to", from.toString()))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()));
+        }
+
 }
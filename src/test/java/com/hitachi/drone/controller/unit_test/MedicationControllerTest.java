@@ -0,0 +1,180 @@
+package com.hitachi.drone.controller.unit_test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.ResourceUtils;
+
+import com.hitachi.drone.controller.MedicationController;
+import com.hitachi.drone.dto.ImageMetadataDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.service.IMedicationService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MedicationController.class)
+public class MedicationControllerTest {
+        private static final Long DRONE_ID = 1001L;
+        private static final Long MEDICATION_ID = 2001L;
+        private static final String MEDICATION_NAME = "SAMPLE_MEDICATION_NAME";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private IMedicationService medicationService;
+
+        private static String imageName;
+        private static String imageType;
+        private static byte[] imageData;
+
+        @BeforeAll
+        static void setupImage() throws IOException {
+                File imageFile = ResourceUtils.getFile("classpath:images/medicine-pic.jpg");
+                imageData = Files.readAllBytes(imageFile.toPath());
+                imageName = imageFile.getName();
+                imageType = URLConnection.guessContentTypeFromName(imageFile.getName());
+        }
+
+        @Test
+        void testListMedicationsSuccess() throws Exception {
+                // GIVEN
+                DroneMedicationView view = new DroneMedicationView() {
+                        public Long getDroneId() {
+                                return DRONE_ID;
+                        }
+
+                        public Long getId() {
+                                return MEDICATION_ID;
+                        }
+
+                        public String getName() {
+                                return MEDICATION_NAME;
+                        }
+
+                        public Double getWeight() {
+                                return 200.0;
+                        }
+
+                        public String getCode() {
+                                return "SAMPLE_CODE_01";
+                        }
+
+                        public String getImageName() {
+                                return imageName;
+                        }
+
+                        public String getImageType() {
+                                return imageType;
+                        }
+                };
+                given(medicationService.listMedications(DRONE_ID, 0L, 1))
+                                .willReturn(new KeysetPageDto<>(List.of(view), MEDICATION_ID));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/medications")
+                                                .param("droneId", DRONE_ID.toString())
+                                                .param("limit", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].id").value(MEDICATION_ID))
+                                .andExpect(jsonPath("$.items[0].droneId").value(DRONE_ID))
+                                .andExpect(jsonPath("$.items[0].name").value(MEDICATION_NAME))
+                                .andExpect(jsonPath("$.items[0].drone").doesNotExist())
+                                .andExpect(jsonPath("$.nextAfterId").value(MEDICATION_ID));
+        }
+
+        @Test
+        void testListMedicationsOfUnknownDrone() throws Exception {
+                // GIVEN
+                given(medicationService.listMedications(DRONE_ID, 0L, 50))
+                                .willThrow(new ResourceNotFoundException("Drone", "ID", DRONE_ID));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/medications")
+                                                .param("droneId", DRONE_ID.toString()))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()));
+        }
+
+        @Test
+        void testGetImageSuccess() throws Exception {
+                // GIVEN
+                given(medicationService.getImageMetadata(MEDICATION_ID))
+                                .willReturn(new ImageMetadataDto(imageName, imageType));
+                doAnswer(invocation -> {
+                        invocation.getArgument(1, OutputStream.class).write(imageData);
+                        return null;
+                }).when(medicationService).streamImage(eq(MEDICATION_ID), any(OutputStream.class));
+                // WHEN
+                MvcResult result = this.mockMvc.perform(
+                                get("/api/medications/" + MEDICATION_ID + "/image"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                // THEN
+                this.mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(imageType))
+                                .andExpect(content().bytes(imageData));
+        }
+
+        @Test
+        void testGetImageWithMalformedTypeIsServedAsBytes() throws Exception {
+                // GIVEN
+                given(medicationService.getImageMetadata(MEDICATION_ID))
+                                .willReturn(new ImageMetadataDto(imageName, "not a media type"));
+                doAnswer(invocation -> {
+                        invocation.getArgument(1, OutputStream.class).write(imageData);
+                        return null;
+                }).when(medicationService).streamImage(eq(MEDICATION_ID), any(OutputStream.class));
+                // WHEN
+                MvcResult result = this.mockMvc.perform(
+                                get("/api/medications/" + MEDICATION_ID + "/image"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                // THEN
+                this.mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                                .andExpect(content().bytes(imageData));
+        }
+
+        @Test
+        void testGetImageThrowsResourceNotFoundException() throws Exception {
+                // GIVEN
+                given(medicationService.getImageMetadata(MEDICATION_ID))
+                                .willThrow(new ResourceNotFoundException("Medication image", "ID", MEDICATION_ID));
+                // WHEN
+                this.mockMvc.perform(
+                                get("/api/medications/" + MEDICATION_ID + "/image"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()))
+                                .andExpect(jsonPath("$.errorMessage")
+                                                .value("Medication image not found with the given input data ID: '"
+                                                                + MEDICATION_ID + "'"));
+        }
+
+}
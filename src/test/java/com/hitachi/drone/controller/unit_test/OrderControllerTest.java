@@ -0,0 +1,108 @@
+package com.hitachi.drone.controller.unit_test;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.hitachi.drone.controller.OrderController;
+import com.hitachi.drone.dto.DeliveryOrderDto;
+import com.hitachi.drone.dto.OrderIntakeResponseDto;
+import com.hitachi.drone.enums.OrderStatus;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.service.IOrderService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderController.class)
+public class OrderControllerTest {
+        private static final Long ORDER_ID = 3001L;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private IOrderService orderService;
+
+        @Test
+        void testSubmitOrders() throws Exception {
+                // GIVEN
+                given(orderService.submitOrders(argThat(orders -> orders.size() == 1
+                                && orders.get(0).getDroneId() == null
+                                && "CODE_01".equals(orders.get(0).getMedication().getCode()))))
+                                .willReturn(new OrderIntakeResponseDto(1, List.of(ORDER_ID)));
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/orders")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("[{\"medication\":{\"name\":\"Aspirin\","
+                                                                + "\"weight\":100,\"code\":\"CODE_01\"}}]"))
+                                .andExpect(status().isAccepted())
+                                .andExpect(jsonPath("$.accepted").value(1))
+                                .andExpect(jsonPath("$.orderIds[0]").value(ORDER_ID));
+        }
+
+        @Test
+        void testSubmitOrdersRejectsInvalidMedication() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/orders")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("[{\"medication\":{\"name\":\"Aspirin\","
+                                                                + "\"weight\":100,\"code\":\"lower case\"}}]"))
+                                .andExpect(status().isBadRequest());
+                // THEN
+                verify(orderService, never()).submitOrders(any());
+        }
+
+        @Test
+        void testSubmitOrdersRejectsImage() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/orders")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("[{\"medication\":{\"name\":\"Aspirin\",\"weight\":100,"
+                                                                + "\"code\":\"CODE_01\",\"imageData\":\"AQID\"}}]"))
+                                .andExpect(status().isBadRequest());
+                // THEN
+                verify(orderService, never()).submitOrders(any());
+        }
+
+        @Test
+        void testGetOrder() throws Exception {
+                // GIVEN
+                given(orderService.getOrder(ORDER_ID)).willReturn(new DeliveryOrderDto(ORDER_ID, null, "Aspirin",
+                                100.0, "CODE_01", OrderStatus.LOADED, 1, Instant.EPOCH, null, 1001L, Instant.EPOCH));
+                // WHEN
+                this.mockMvc.perform(get("/api/orders/" + ORDER_ID))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("LOADED"))
+                                .andExpect(jsonPath("$.loadedDroneId").value(1001))
+                                .andExpect(jsonPath("$.claimedUntil").doesNotExist());
+        }
+
+        @Test
+        void testGetOrderThrowsResourceNotFoundException() throws Exception {
+                // GIVEN
+                given(orderService.getOrder(ORDER_ID))
+                                .willThrow(new ResourceNotFoundException("Order", "ID", ORDER_ID));
+                // WHEN
+                this.mockMvc.perform(get("/api/orders/" + ORDER_ID))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()));
+        }
+}
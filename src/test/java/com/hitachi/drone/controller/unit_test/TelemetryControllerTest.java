@@ -0,0 +1,75 @@
+package com.hitachi.drone.controller.unit_test;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.hitachi.drone.controller.TelemetryController;
+import com.hitachi.drone.service.ITelemetryService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TelemetryController.class)
+public class TelemetryControllerTest {
+        private static final Long DRONE_ID = 1001L;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private ITelemetryService telemetryService;
+
+        @Test
+        void testReportNdjson() throws Exception {
+                // GIVEN
+                given(telemetryService.recordBattery(DRONE_ID, 80)).willReturn(true);
+                given(telemetryService.recordBattery(DRONE_ID, 120)).willReturn(false);
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/telemetry")
+                                                .contentType(MediaType.APPLICATION_NDJSON)
+                                                .content("{\"droneId\":1001,\"batteryCapacity\":80}\n"
+                                                                + "{\"droneId\":1001,\"batteryCapacity\":120}\n"))
+                                .andExpect(status().isAccepted())
+                                .andExpect(jsonPath("$.received").value(2))
+                                .andExpect(jsonPath("$.accepted").value(1));
+        }
+
+        @Test
+        void testReportBinary() throws Exception {
+                // GIVEN
+                byte[] records = ByteBuffer.allocate(2 * ITelemetryService.RECORD_SIZE)
+                                .putLong(DRONE_ID).put((byte) 80).putLong(DRONE_ID + 1).put((byte) 70).array();
+                given(telemetryService.recordBinary(any())).willReturn(2);
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/telemetry")
+                                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                                .content(records))
+                                .andExpect(status().isAccepted())
+                                .andExpect(jsonPath("$.received").value(2))
+                                .andExpect(jsonPath("$.accepted").value(2));
+                // THEN
+                verify(telemetryService).recordBinary(any(ByteBuffer.class));
+        }
+
+        @Test
+        void testReportMalformedNdjson() throws Exception {
+                // WHEN
+                this.mockMvc.perform(
+                                post("/api/drones/telemetry")
+                                                .contentType(MediaType.APPLICATION_NDJSON)
+                                                .content("{\"droneId\":1001,"))
+                                .andExpect(status().isBadRequest());
+        }
+}
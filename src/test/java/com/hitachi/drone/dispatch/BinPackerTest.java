@@ -0,0 +1,109 @@
+package com.hitachi.drone.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.hitachi.drone.enums.PackingStrategy;
+
+public class BinPackerTest {
+
+    @Test
+    void testFirstFitTakesLeftmostBin() {
+        // GIVEN
+        double[] weights = { 300, 200 };
+        double[] capacities = { 400, 600, 300 };
+
+        // WHEN
+        PackingResult result = BinPacker.pack(weights, capacities, PackingStrategy.FIRST_FIT_DECREASING);
+
+        // THEN
+        assertThat(result.binOfItem()).containsExactly(0, 1);
+        assertThat(result.binsUsed()).isEqualTo(2);
+    }
+
+    @Test
+    void testBestFitTakesTightestBin() {
+        // GIVEN
+        double[] weights = { 300, 200 };
+        double[] capacities = { 400, 600, 300 };
+
+        // WHEN
+        PackingResult result = BinPacker.pack(weights, capacities, PackingStrategy.BEST_FIT_DECREASING);
+
+        // THEN
+        assertThat(result.binOfItem()).containsExactly(2, 0);
+        assertThat(result.binsUsed()).isEqualTo(2);
+    }
+
+    @Test
+    void testWorstFitTakesRoomiestBin() {
+        // GIVEN
+        double[] weights = { 300, 200 };
+        double[] capacities = { 400, 600, 300 };
+
+        // WHEN
+        PackingResult result = BinPacker.pack(weights, capacities, PackingStrategy.WORST_FIT_DECREASING);
+
+        // THEN
+        assertThat(result.binOfItem()).containsExactly(1, 0);
+    }
+
+    @Test
+    void testItemsThatFitNowhereAreUnassigned() {
+        // GIVEN
+        double[] weights = { 500, 100, 0.1 + 0.2 };
+        double[] capacities = { 100.3 };
+
+        // WHEN
+        PackingResult result = BinPacker.pack(weights, capacities, PackingStrategy.BEST_FIT_DECREASING);
+
+        // THEN
+        assertThat(result.binOfItem()).containsExactly(-1, 0, 0);
+        assertThat(result.assignedItems()).isEqualTo(2);
+    }
+
+    @Test
+    void testPackBestPrefersFewestBins() {
+        // GIVEN worst fit spreads the items over all three bins
+        double[] weights = { 500, 300, 300 };
+        double[] capacities = { 600, 600, 500 };
+
+        // WHEN
+        PackingResult result = BinPacker.packBest(weights, capacities, true);
+
+        // THEN
+        assertThat(result.assignedItems()).isEqualTo(3);
+        assertThat(result.binsUsed()).isEqualTo(2);
+        assertThat(BinPacker.pack(weights, capacities, PackingStrategy.WORST_FIT_DECREASING).binsUsed())
+                .isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PackingStrategy.class)
+    void testNoBinIsOverloaded(PackingStrategy strategy) {
+        // GIVEN
+        Random random = new Random(42);
+        double[] weights = random.doubles(10_000, 1, 400).toArray();
+        double[] capacities = random.ints(1_000, 1, 5).mapToDouble(size -> size * 200.0).toArray();
+
+        // WHEN
+        PackingResult result = BinPacker.pack(weights, capacities, strategy);
+
+        // THEN
+        double[] loads = new double[capacities.length];
+        for (int item = 0; item < weights.length; item++) {
+            if (result.binOfItem()[item] >= 0) {
+                loads[result.binOfItem()[item]] += weights[item];
+            }
+        }
+        for (int bin = 0; bin < capacities.length; bin++) {
+            assertThat(loads[bin]).isLessThanOrEqualTo(capacities[bin] + BinPacker.EPSILON * weights.length);
+        }
+        assertThat(result.assignedItems()).isPositive();
+    }
+}
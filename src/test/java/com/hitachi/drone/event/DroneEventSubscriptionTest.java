@@ -0,0 +1,87 @@
+package com.hitachi.drone.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.hitachi.drone.dto.DroneDeltaDto;
+import com.hitachi.drone.enums.DroneState;
+
+public class DroneEventSubscriptionTest {
+    private static final Long DRONE_ID = 1L;
+    private static final Long OTHER_DRONE_ID = 2L;
+
+    @Test
+    void testChangesOfTheSameDroneAreCoalesced() {
+        // GIVEN
+        DroneEventSubscription underTest = subscription(Set.of(), Set.of(), 10);
+
+        // WHEN
+        underTest.offer(event(DRONE_ID, DroneState.LOADED, 90), droneId -> Optional.empty());
+        underTest.offer(event(DRONE_ID, null, 80), droneId -> Optional.empty());
+        underTest.offer(new DroneStateChangedEvent(DRONE_ID, DroneState.DELIVERING, null, null, 200.0),
+                droneId -> Optional.empty());
+
+        // THEN
+        assertThat(underTest.drainPending())
+                .containsExactly(new DroneDeltaDto(DRONE_ID, DroneState.DELIVERING, 80, 200.0));
+        assertThat(underTest.hasPending()).isFalse();
+    }
+
+    @Test
+    void testChangesOfOtherDronesAreFilteredOut() {
+        // GIVEN
+        DroneEventSubscription underTest = subscription(Set.of(DRONE_ID), Set.of(), 10);
+
+        // WHEN
+        underTest.offer(event(DRONE_ID, DroneState.LOADED, 90), droneId -> Optional.empty());
+        underTest.offer(event(OTHER_DRONE_ID, DroneState.LOADED, 90), droneId -> Optional.empty());
+
+        // THEN
+        assertThat(underTest.drainPending()).extracting(DroneDeltaDto::getDroneId).containsExactly(DRONE_ID);
+    }
+
+    @Test
+    void testStateFilterReportsDronesLeavingTheWatchedState() {
+        // GIVEN
+        DroneEventSubscription underTest = subscription(Set.of(), Set.of(DroneState.IDLE), 10);
+
+        // WHEN
+        underTest.offer(event(DRONE_ID, null, 90), droneId -> Optional.of(DroneState.IDLE));
+        underTest.offer(event(OTHER_DRONE_ID, DroneState.LOADED, 90), droneId -> Optional.empty());
+        underTest.offer(event(DRONE_ID, DroneState.LOADED, null), droneId -> Optional.empty());
+        underTest.offer(event(DRONE_ID, null, 70), droneId -> Optional.of(DroneState.LOADED));
+
+        // THEN
+        assertThat(underTest.drainPending())
+                .containsExactly(new DroneDeltaDto(DRONE_ID, DroneState.LOADED, 90, null));
+    }
+
+    @Test
+    void testChangesBeyondTheBufferAreDroppedAndCounted() {
+        // GIVEN
+        DroneEventSubscription underTest = subscription(Set.of(), Set.of(), 1);
+
+        // WHEN
+        underTest.offer(event(DRONE_ID, DroneState.LOADED, 90), droneId -> Optional.empty());
+        underTest.offer(event(OTHER_DRONE_ID, DroneState.LOADED, 90), droneId -> Optional.empty());
+        underTest.offer(event(DRONE_ID, null, 80), droneId -> Optional.empty());
+
+        // THEN
+        assertThat(underTest.drainDropped()).isEqualTo(1);
+        assertThat(underTest.drainPending())
+                .containsExactly(new DroneDeltaDto(DRONE_ID, DroneState.LOADED, 80, null));
+    }
+
+    private static DroneEventSubscription subscription(Set<Long> droneIds, Set<DroneState> states, int maxPending) {
+        return new DroneEventSubscription(new SseEmitter(), droneIds, states, maxPending);
+    }
+
+    private static DroneStateChangedEvent event(Long droneId, DroneState state, Integer batteryCapacity) {
+        return new DroneStateChangedEvent(droneId, state, batteryCapacity, null, null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.hitachi.drone.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hitachi.drone.config.CacheNames;
+import com.hitachi.drone.dto.MedicationDto;
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.service.IDroneService;
+
+@SpringBootTest
+public class MedicationCacheIT {
+    private static final String SERIAL_NUMBER = "CACHE_001";
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM medication WHERE drone_id IN "
+                + "(SELECT id FROM drone WHERE serial_number = ?)", SERIAL_NUMBER);
+        jdbcTemplate.update("DELETE FROM drone WHERE serial_number = ?", SERIAL_NUMBER);
+        cacheManager.getCache(CacheNames.DRONE_MEDICATIONS).clear();
+    }
+
+    @Test
+    void testMedicationsAreCachedUntilTheDroneChanges() {
+        // GIVEN
+        Drone drone = droneService.registerDrone(
+                new Drone(null, SERIAL_NUMBER, DroneModel.LIGHTWEIGHT, null, 0.0, 100, DroneState.IDLE, null, null));
+        droneService.loadDrone(drone.getId(), medication("CACHE_CODE_1"));
+        List<MedicationDto> first = droneService.getLoadedMedications(drone.getId());
+
+        // WHEN
+        List<MedicationDto> cached = droneService.getLoadedMedications(drone.getId());
+        droneService.loadDrone(drone.getId(), medication("CACHE_CODE_2"));
+        List<MedicationDto> reloaded = droneService.getLoadedMedications(drone.getId());
+
+        // THEN
+        assertThat(cached).isEqualTo(first);
+        assertThat(reloaded).extracting(MedicationDto::getCode).containsExactly("CACHE_CODE_1", "CACHE_CODE_2");
+        assertThat(reloaded.get(0).getDrone().getState()).isEqualTo(DroneState.LOADED);
+    }
+
+    @Test
+    void testBatteryReportKeepsCachedMedications() {
+        // GIVEN
+        Drone drone = droneService.registerDrone(
+                new Drone(null, SERIAL_NUMBER, DroneModel.LIGHTWEIGHT, null, 0.0, 100, DroneState.IDLE, null, null));
+        droneService.loadDrone(drone.getId(), medication("CACHE_CODE_1"));
+        droneService.getLoadedMedications(drone.getId());
+
+        // WHEN
+        eventPublisher.publishEvent(new DroneStateChangedEvent(drone.getId(), null, 55, null, null));
+        List<MedicationDto> medications = droneService.getLoadedMedications(drone.getId());
+
+        // THEN the cached list is served with the reported battery
+        assertThat(cacheManager.getCache(CacheNames.DRONE_MEDICATIONS).get(drone.getId())).isNotNull();
+        assertThat(medications.get(0).getDrone().getBatteryCapacity()).isEqualTo(55);
+        assertThat(medications.get(0).getDrone().getState()).isEqualTo(DroneState.LOADED);
+    }
+
+    private static Medication medication(String code) {
+        return new Medication(null, "Cached", 10.0, code, null, null, null, null);
+    }
+}
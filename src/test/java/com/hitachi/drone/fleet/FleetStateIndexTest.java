@@ -0,0 +1,119 @@
+package com.hitachi.drone.fleet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+
+public class FleetStateIndexTest {
+    private static final Long DRONE_ID = 1001L;
+    private static final DroneModel MODEL = DroneModel.CRUISERWEIGHT;
+    private static final Integer BATTERY_CAPACITY = 80;
+    private static final Double LOADED_WEIGHT = 200.0;
+
+    FleetStateIndex underTest;
+
+    private Drone drone;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new FleetStateIndex(60000);
+
+        drone = new Drone();
+        drone.setId(DRONE_ID);
+        drone.setModel(MODEL);
+        drone.setState(DroneState.IDLE);
+        drone.setBatteryCapacity(BATTERY_CAPACITY);
+        drone.setWeightLimit(MODEL.getMaxWeight());
+    }
+
+    @Test
+    void testFindAfterPut() {
+        // GIVEN
+        underTest.put(DRONE_ID, FleetEntry.of(drone, LOADED_WEIGHT), underTest.changeStamp());
+
+        // WHEN
+        FleetEntry result = underTest.find(DRONE_ID).orElseThrow();
+
+        // THEN
+        assertThat(result.getBatteryCapacity()).isEqualTo(BATTERY_CAPACITY);
+        assertThat(result.getRemainingCapacity()).isEqualTo(MODEL.getMaxWeight() - LOADED_WEIGHT);
+        assertThat(underTest.getHitCount()).isEqualTo(1);
+        assertThat(underTest.getMissCount()).isZero();
+    }
+
+    @Test
+    void testFindMissingEntry() {
+        assertThat(underTest.find(DRONE_ID)).isEmpty();
+        assertThat(underTest.getMissCount()).isEqualTo(1);
+        assertThat(underTest.getHitRate()).isZero();
+    }
+
+    @Test
+    void testExpiredEntryIsAMiss() {
+        // GIVEN
+        underTest = new FleetStateIndex(-1);
+        underTest.put(DRONE_ID, FleetEntry.of(drone, LOADED_WEIGHT), underTest.changeStamp());
+
+        // WHEN / THEN
+        assertThat(underTest.find(DRONE_ID)).isEmpty();
+        assertThat(underTest.getExpirationCount()).isEqualTo(1);
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void testPartialEventMergesIntoExistingEntry() {
+        // GIVEN
+        underTest.put(DRONE_ID, FleetEntry.of(drone, LOADED_WEIGHT), underTest.changeStamp());
+
+        // WHEN
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(DRONE_ID, DroneState.RETURNING, 70, null, null));
+
+        // THEN
+        FleetEntry result = underTest.find(DRONE_ID).orElseThrow();
+        assertThat(result.getState()).isEqualTo(DroneState.RETURNING);
+        assertThat(result.getBatteryCapacity()).isEqualTo(70);
+        assertThat(result.getLoadedWeight()).isEqualTo(LOADED_WEIGHT);
+    }
+
+    @Test
+    void testPartialEventWithoutEntryIsIgnored() {
+        // WHEN
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(DRONE_ID, DroneState.RETURNING, 70, null, null));
+
+        // THEN
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void testCommittedEventWinsOverLaterSnapshot() {
+        // GIVEN
+        long readStamp = underTest.changeStamp();
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(DRONE_ID, DroneState.LOADED, BATTERY_CAPACITY,
+                MODEL.getMaxWeight(), LOADED_WEIGHT));
+
+        // WHEN
+        underTest.put(DRONE_ID, FleetEntry.of(drone, 0.0), readStamp);
+
+        // THEN
+        assertThat(underTest.find(DRONE_ID).orElseThrow().getState()).isEqualTo(DroneState.LOADED);
+    }
+
+    @Test
+    void testSnapshotReadDuringUnindexedChangeIsDropped() {
+        // GIVEN a snapshot read before a change that could not be indexed on its own
+        long readStamp = underTest.changeStamp();
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(DRONE_ID, DroneState.RETURNING, 70, null, null));
+
+        // WHEN
+        underTest.put(DRONE_ID, FleetEntry.of(drone, LOADED_WEIGHT), readStamp);
+
+        // THEN
+        assertThat(underTest.size()).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package com.hitachi.drone.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hitachi.drone.dto.BatteryHistoryPointDto;
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.service.IBatteryHistoryService;
+import com.hitachi.drone.service.IDroneService;
+
+// Flushes are driven by the test with explicit clocks
+@SpringBootTest(properties = "drone.history.flush-ms=3600000")
+public class BatteryHistoryIT {
+    private static final String SERIAL_NUMBER = "HISTORY_001";
+
+    @Autowired
+    BatteryHistoryRecorder batteryHistoryRecorder;
+
+    @Autowired
+    IBatteryHistoryService batteryHistoryService;
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM battery_rollup");
+        jdbcTemplate.update("DELETE FROM drone WHERE serial_number = ?", SERIAL_NUMBER);
+    }
+
+    @Test
+    void testRollupsAreMergedAcrossFlushes() {
+        // GIVEN
+        Drone drone = droneService.registerDrone(
+                new Drone(null, SERIAL_NUMBER, DroneModel.LIGHTWEIGHT, null, 0.0, 100, DroneState.IDLE, null, null));
+        // Discards the sample of the registration itself
+        batteryHistoryRecorder.flush(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli());
+        jdbcTemplate.update("DELETE FROM battery_rollup");
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(2, ChronoUnit.HOURS);
+        long minute = hour.toEpochMilli();
+        long nextMinute = hour.plus(1, ChronoUnit.MINUTES).toEpochMilli();
+
+        // WHEN
+        batteryHistoryRecorder.record(drone.getId(), 90, minute);
+        batteryHistoryRecorder.record(drone.getId(), 80, minute + 1_000);
+        assertThat(batteryHistoryRecorder.flush(nextMinute)).isEqualTo(1);
+        // A late sample of a minute already written is merged into the stored rollups
+        batteryHistoryRecorder.record(drone.getId(), 40, minute + 2_000);
+        batteryHistoryRecorder.record(drone.getId(), 70, nextMinute);
+        assertThat(batteryHistoryRecorder.flush(nextMinute + 60_000)).isEqualTo(2);
+
+        // THEN
+        List<BatteryHistoryPointDto> minutes = batteryHistoryService.getBatteryHistory(drone.getId(), hour,
+                hour.plus(1, ChronoUnit.HOURS), Duration.ofMinutes(1));
+        assertThat(minutes).hasSize(2);
+        assertThat(minutes.get(0).getStart()).isEqualTo(hour);
+        assertThat(minutes.get(0).getMinBattery()).isEqualTo(40);
+        assertThat(minutes.get(0).getMaxBattery()).isEqualTo(90);
+        assertThat(minutes.get(0).getAverageBattery()).isEqualTo(70.0);
+        assertThat(minutes.get(0).getSamples()).isEqualTo(3);
+        assertThat(minutes.get(0).getLastBattery()).isEqualTo(40);
+        assertThat(minutes.get(1).getLastBattery()).isEqualTo(70);
+
+        List<BatteryHistoryPointDto> hours = batteryHistoryService.getBatteryHistory(drone.getId(), hour,
+                hour.plus(1, ChronoUnit.HOURS), Duration.ofHours(1));
+        assertThat(hours).hasSize(1);
+        assertThat(hours.get(0).getStart()).isEqualTo(hour);
+        assertThat(hours.get(0).getMinBattery()).isEqualTo(40);
+        assertThat(hours.get(0).getMaxBattery()).isEqualTo(90);
+        assertThat(hours.get(0).getSamples()).isEqualTo(4);
+        assertThat(hours.get(0).getLastBattery()).isEqualTo(70);
+    }
+
+    @Test
+    void testExpiredRollupsAreDeleted() {
+        // GIVEN
+        Instant expired = Instant.now().minus(batteryHistoryRecorder.getMinuteRetention()).minus(1, ChronoUnit.DAYS);
+        batteryHistoryRecorder.record(1L, 50, expired.toEpochMilli());
+        batteryHistoryRecorder.flush(expired.plus(1, ChronoUnit.HOURS).toEpochMilli());
+
+        // WHEN
+        batteryHistoryRecorder.deleteExpiredRollups();
+
+        // THEN
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM battery_rollup WHERE resolution = 'MINUTE'",
+                Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM battery_rollup WHERE resolution = 'HOUR'",
+                Integer.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hitachi.drone.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.hitachi.drone.entity.BatteryRollup;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.enums.RollupResolution;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.repository.BatteryRollupRepository;
+
+public class BatteryHistoryRecorderTest {
+    private static final Long DRONE_ID = 1001L;
+    private static final long MINUTE = 1_700_000_040_000L;
+
+    private final BatteryRollupRepository batteryRollupRepository = mock(BatteryRollupRepository.class);
+    private final BatteryHistoryRecorder underTest = new BatteryHistoryRecorder(batteryRollupRepository,
+            Duration.ofDays(7), Duration.ofDays(365));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedFlushKeepsItsMinutes() {
+        // GIVEN
+        doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .doNothing()
+                .when(batteryRollupRepository).mergeRollups(anyList());
+        underTest.record(DRONE_ID, 90, MINUTE);
+
+        // WHEN
+        assertThatThrownBy(() -> underTest.flush(MINUTE + 60_000))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        underTest.record(DRONE_ID, 70, MINUTE + 1_000);
+        int written = underTest.flush(MINUTE + 60_000);
+
+        // THEN
+        assertThat(written).isEqualTo(1);
+        ArgumentCaptor<List<BatteryRollup>> rollups = ArgumentCaptor.forClass(List.class);
+        verify(batteryRollupRepository, times(2)).mergeRollups(rollups.capture());
+        BatteryRollup minute = rollups.getValue().stream()
+                .filter(rollup -> rollup.getId().getResolution() == RollupResolution.MINUTE)
+                .findFirst().orElseThrow();
+        assertThat(minute.getSamples()).isEqualTo(2);
+        assertThat(minute.getMinBattery()).isEqualTo(70);
+        assertThat(minute.getMaxBattery()).isEqualTo(90);
+        assertThat(minute.getLastBattery()).isEqualTo(70);
+    }
+
+    @Test
+    void testEventWithoutBatteryIsNotSampled() {
+        // GIVEN
+        DroneStateChangedEvent event = new DroneStateChangedEvent(DRONE_ID, DroneState.LOADED, null, 500.0, 100.0);
+
+        // WHEN
+        underTest.onDroneStateChanged(event);
+
+        // THEN
+        assertThat(underTest.flush(Long.MAX_VALUE)).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.hitachi.drone.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.exceptions.BatteryLowException;
+import com.hitachi.drone.exceptions.InvalidStateTransitionException;
+import com.hitachi.drone.exceptions.OverloadException;
+
+public class DroneTransitionTest {
+    private static final DroneModel MODEL = DroneModel.CRUISERWEIGHT;
+    private static final Integer BATTERY_CAPACITY = 80;
+    private static final Double LOADED_WEIGHT = 200.0;
+
+    private Drone drone;
+
+    @BeforeEach
+    void setUp() {
+        drone = new Drone();
+        drone.setModel(MODEL);
+        drone.setState(DroneState.IDLE);
+        drone.setBatteryCapacity(BATTERY_CAPACITY);
+        drone.setWeightLimit(MODEL.getMaxWeight());
+    }
+
+    @Test
+    void testLoadMovesIdleDroneToLoaded() {
+        // WHEN
+        DroneTransition.LOAD.apply(drone, LOADED_WEIGHT);
+
+        // THEN
+        assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+    }
+
+    @Test
+    void testLoadRejectsDroneInFlight() {
+        // GIVEN
+        drone.setState(DroneState.DELIVERING);
+
+        // WHEN
+        assertThatThrownBy(() -> DroneTransition.LOAD.apply(drone, LOADED_WEIGHT))
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessage("Drone cannot be loaded while DELIVERING");
+        assertThat(drone.getState()).isEqualTo(DroneState.DELIVERING);
+    }
+
+    @Test
+    void testLoadRejectsOverweight() {
+        // WHEN
+        assertThatThrownBy(() -> DroneTransition.LOAD.apply(drone, MODEL.getMaxWeight() + 1))
+                .isInstanceOf(OverloadException.class);
+        assertThat(drone.getState()).isEqualTo(DroneState.IDLE);
+    }
+
+    @Test
+    void testDispatchRequiresBatteryAndLoad() {
+        // GIVEN
+        drone.setState(DroneState.LOADED);
+        drone.setBatteryCapacity(20);
+
+        // WHEN
+        assertThatThrownBy(() -> DroneTransition.DISPATCH.apply(drone, LOADED_WEIGHT))
+                .isInstanceOf(BatteryLowException.class)
+                .hasMessage("Drone cannot be dispatched, battery below 25%");
+
+        drone.setBatteryCapacity(BATTERY_CAPACITY);
+        assertThatThrownBy(() -> DroneTransition.DISPATCH.apply(drone, 0))
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessage("Drone has no medications to deliver");
+
+        DroneTransition.DISPATCH.apply(drone, LOADED_WEIGHT);
+        assertThat(drone.getState()).isEqualTo(DroneState.DELIVERING);
+    }
+
+    @Test
+    void testTimedTransitionsLeadBackToIdle() {
+        assertThat(DroneTransition.timedFrom(DroneState.DELIVERING)).contains(DroneTransition.ARRIVE);
+        assertThat(DroneTransition.timedFrom(DroneState.DELIVERED)).contains(DroneTransition.RETURN);
+        assertThat(DroneTransition.timedFrom(DroneState.RETURNING)).contains(DroneTransition.DOCK);
+        assertThat(DroneTransition.DOCK.getTo()).isEqualTo(DroneState.IDLE);
+        assertThat(DroneTransition.timedFrom(DroneState.IDLE)).isEmpty();
+        assertThat(DroneTransition.timedFrom(DroneState.LOADED)).isEmpty();
+    }
+
+    @Test
+    void testReturnCostsBatteryButNeverBelowZero() {
+        assertThat(DroneTransition.RETURN.batteryAfter(BATTERY_CAPACITY)).isEqualTo(BATTERY_CAPACITY - 10);
+        assertThat(DroneTransition.RETURN.batteryAfter(5)).isZero();
+        assertThat(DroneTransition.DOCK.batteryAfter(BATTERY_CAPACITY)).isEqualTo(BATTERY_CAPACITY);
+    }
+}
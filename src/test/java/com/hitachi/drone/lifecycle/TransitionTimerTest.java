@@ -0,0 +1,81 @@
+package com.hitachi.drone.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.projection.DroneStateView;
+import com.hitachi.drone.repository.DroneRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TransitionTimerTest {
+    private static final Long DRONE_ID = 1001L;
+    private static final Long OTHER_DRONE_ID = 1002L;
+
+    @Mock
+    DroneRepository droneRepository;
+
+    TransitionTimer underTest;
+
+    @BeforeEach
+    void setUp() {
+        // Arrival is due at once, the other timed transitions only after an hour
+        underTest = new TransitionTimer(droneRepository, 0, 3600000, 3600000);
+    }
+
+    @Test
+    void testStateChangeSchedulesTimedTransition() {
+        // WHEN
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(DRONE_ID, DroneState.DELIVERING, null, null, null));
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(OTHER_DRONE_ID, DroneState.DELIVERED, null, null,
+                null));
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(OTHER_DRONE_ID, DroneState.LOADED, null, null, null));
+        underTest.onDroneStateChanged(new DroneStateChangedEvent(OTHER_DRONE_ID, null, 50, null, null));
+
+        // THEN
+        List<DueTransition> due = underTest.drainDue();
+        assertThat(due).extracting(DueTransition::getDroneId).containsExactly(DRONE_ID);
+        assertThat(due).extracting(DueTransition::getTransition).containsExactly(DroneTransition.ARRIVE);
+        assertThat(underTest.size()).isEqualTo(1);
+        assertThat(underTest.drainDue()).isEmpty();
+    }
+
+    @Test
+    void testDronesInFlightAreScheduledOnStartup() {
+        // GIVEN
+        given(droneRepository.findStateByStateIn(anyCollection()))
+                .willReturn(List.of(stateView(DRONE_ID, DroneState.DELIVERING),
+                        stateView(OTHER_DRONE_ID, DroneState.RETURNING)));
+
+        // WHEN
+        underTest.scheduleDronesInFlight();
+
+        // THEN
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(underTest.drainDue()).extracting(DueTransition::getDroneId).containsExactly(DRONE_ID);
+    }
+
+    private static DroneStateView stateView(Long id, DroneState state) {
+        return new DroneStateView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public DroneState getState() {
+                return state;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.hitachi.drone.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.hitachi.drone.service.IDroneService;
+
+@SpringBootTest(properties = { "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.drone.operation=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class DroneMetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    FleetMetrics fleetMetrics;
+
+    @Test
+    void testPrometheusEndpointExposesDroneMetrics() throws Exception {
+        // GIVEN
+        droneService.findAvailableDrones(0.0, 0, null, null, 10);
+        fleetMetrics.refreshDronesByState();
+
+        // WHEN / THEN
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "drone_operation_seconds_bucket{exception=\"none\",operation=\"findAvailableDrones\"")))
+                .andExpect(content().string(containsString("drone_fleet_drones{state=\"IDLE\"}")))
+                .andExpect(content().string(containsString("drone_fleet_index_lookups_total{result=\"hit\"}")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"drone-medications\"")));
+    }
+}
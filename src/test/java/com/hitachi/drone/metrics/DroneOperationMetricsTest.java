@@ -0,0 +1,63 @@
+package com.hitachi.drone.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.hitachi.drone.exceptions.BatteryLowException;
+import com.hitachi.drone.service.IDroneService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DroneOperationMetricsTest {
+    private static final Long DRONE_ID = 1L;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IDroneService droneService = mock(IDroneService.class);
+    private IDroneService underTest;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(droneService);
+        proxyFactory.addAspect(new DroneOperationMetrics(meterRegistry));
+        underTest = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testSuccessfulOperationIsTimed() {
+        // GIVEN
+        given(droneService.checkBattery(DRONE_ID)).willReturn(80);
+
+        // WHEN
+        underTest.checkBattery(DRONE_ID);
+        underTest.checkBattery(DRONE_ID);
+
+        // THEN
+        assertThat(meterRegistry.get(DroneOperationMetrics.OPERATION_TIMER)
+                .tags("operation", "checkBattery", "outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.find(DroneOperationMetrics.FAILURE_COUNTER).counter()).isNull();
+    }
+
+    @Test
+    void testFailedOperationIsCountedByException() {
+        // GIVEN
+        willThrow(new BatteryLowException("be dispatched")).given(droneService).dispatchDrone(DRONE_ID);
+
+        // WHEN
+        assertThatThrownBy(() -> underTest.dispatchDrone(DRONE_ID)).isInstanceOf(BatteryLowException.class);
+
+        // THEN
+        assertThat(meterRegistry.get(DroneOperationMetrics.FAILURE_COUNTER)
+                .tags("operation", "dispatchDrone", "exception", "BatteryLowException").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(DroneOperationMetrics.OPERATION_TIMER)
+                .tags("operation", "dispatchDrone", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,164 @@
+package com.hitachi.drone.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hitachi.drone.dto.DeliveryOrderRequestDto;
+import com.hitachi.drone.dto.OrderMedicationDto;
+import com.hitachi.drone.entity.DeliveryOrder;
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.enums.OrderStatus;
+import com.hitachi.drone.repository.DeliveryOrderRepository;
+import com.hitachi.drone.service.IDroneService;
+import com.hitachi.drone.service.IOrderService;
+
+// Workers poll often and give up after two attempts, so the test settles quickly
+@SpringBootTest(properties = { "drone.orders.enabled=true", "drone.orders.poll-ms=50",
+        "drone.orders.retry.delay-ms=50", "drone.orders.retry.max-attempts=2" })
+public class OrderQueueIT {
+    private static final String SERIAL_NUMBER = "ORDERS_001";
+
+    @Autowired
+    IOrderService orderService;
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    DeliveryOrderRepository deliveryOrderRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM delivery_order");
+        jdbcTemplate.update("DELETE FROM medication WHERE drone_id IN "
+                + "(SELECT id FROM drone WHERE serial_number = ?)", SERIAL_NUMBER);
+        jdbcTemplate.update("DELETE FROM drone WHERE serial_number = ?", SERIAL_NUMBER);
+    }
+
+    @Test
+    void testOrdersAreLoadedByWorkers() throws Exception {
+        // GIVEN
+        Drone drone = droneService.registerDrone(
+                new Drone(null, SERIAL_NUMBER, DroneModel.LIGHTWEIGHT, null, 0.0, 100, DroneState.IDLE, null, null));
+
+        // WHEN 400g of room for 150g, 150g and 200g
+        List<Long> orderIds = orderService.submitOrders(List.of(
+                order(drone.getId(), "ORDER_1", 150.0),
+                order(drone.getId(), "ORDER_2", 150.0),
+                order(drone.getId(), "ORDER_3", 200.0))).getOrderIds();
+
+        // THEN
+        List<DeliveryOrder> orders = awaitSettled(orderIds);
+        assertThat(orders).extracting(DeliveryOrder::getStatus)
+                .containsExactly(OrderStatus.LOADED, OrderStatus.LOADED, OrderStatus.FAILED);
+        assertThat(orders.get(0).getLoadedDroneId()).isEqualTo(drone.getId());
+        assertThat(orders.get(2).getAttempts()).isEqualTo(2);
+        assertThat(orders.get(2).getLastError()).contains("weight limit");
+        assertThat(droneService.getLoadedMedications(drone.getId())).hasSize(2);
+    }
+
+    @Test
+    void testConcurrentClaimsSkipLockedOrders() throws Exception {
+        // GIVEN orders not yet due for the workers, claimed with a clock ahead of them
+        Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<Long> orderIds = deliveryOrderRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new DeliveryOrder(null, null, "Aspirin", 10.0, "CLAIM_" + i, OrderStatus.PENDING, 0,
+                        later.minusSeconds(1), null, null, null, Instant.now()))
+                .toList()).stream().map(DeliveryOrder::getId).toList();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+
+        // WHEN the first claim holds its row locks while the second one runs
+        Future<List<Long>> first = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = deliveryOrderRepository.findClaimable(later, 5).stream()
+                    .map(DeliveryOrder::getId).toList();
+            claimed.countDown();
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return ids;
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+        List<Long> second = transactionTemplate.execute(status -> deliveryOrderRepository.findClaimable(later, 5)
+                .stream().map(DeliveryOrder::getId).toList());
+        released.countDown();
+
+        // THEN
+        assertThat(first.get(10, TimeUnit.SECONDS)).containsExactlyElementsOf(orderIds.subList(0, 5));
+        assertThat(second).containsExactlyElementsOf(orderIds.subList(5, 10));
+        executor.shutdown();
+    }
+
+    @Test
+    void testConcurrentLoadsOfOneDroneAreRetried() throws Exception {
+        // GIVEN orders already claimed, so only the threads below process them
+        Drone drone = droneService.registerDrone(
+                new Drone(null, SERIAL_NUMBER, DroneModel.LIGHTWEIGHT, null, 0.0, 100, DroneState.IDLE, null, null));
+        Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<Long> orderIds = deliveryOrderRepository.saveAll(IntStream.range(0, 8)
+                .mapToObj(i -> new DeliveryOrder(null, drone.getId(), "Aspirin", 10.0, "RETRY_" + i,
+                        OrderStatus.CLAIMED, 0, later, later, null, null, Instant.now()))
+                .toList()).stream().map(DeliveryOrder::getId).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(orderIds.size());
+        CountDownLatch start = new CountDownLatch(1);
+
+        // WHEN
+        List<Future<Object>> futures = orderIds.stream().map(orderId -> executor.submit(() -> {
+            start.await();
+            orderService.processOrder(orderId);
+            return null;
+        })).toList();
+        start.countDown();
+        for (Future<Object> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // THEN every load that lost the version check was retried and committed with its order
+        assertThat(deliveryOrderRepository.findAllById(orderIds)).extracting(DeliveryOrder::getStatus)
+                .containsOnly(OrderStatus.LOADED);
+        assertThat(droneService.getLoadedMedications(drone.getId())).hasSize(orderIds.size());
+    }
+
+    private List<DeliveryOrder> awaitSettled(List<Long> orderIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<DeliveryOrder> orders = deliveryOrderRepository.findAllById(orderIds);
+        while (orders.stream().anyMatch(order -> order.getStatus() == OrderStatus.PENDING
+                || order.getStatus() == OrderStatus.CLAIMED) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            orders = deliveryOrderRepository.findAllById(orderIds);
+        }
+        return orders.stream().sorted((a, b) -> Long.compare(a.getId(), b.getId())).toList();
+    }
+
+    private static DeliveryOrderRequestDto order(Long droneId, String code, Double weight) {
+        return new DeliveryOrderRequestDto(droneId, new OrderMedicationDto("Order", weight, code));
+    }
+}
@@ -0,0 +1,83 @@
+package com.hitachi.drone.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+
+import com.hitachi.drone.enums.OrderStatus;
+import com.hitachi.drone.exceptions.OverloadException;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.service.IOrderService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OrderWorkerPoolTest {
+    private static final Long ORDER_ID = 3001L;
+
+    private final IOrderService orderService = mock(IOrderService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderWorkerPool underTest = new OrderWorkerPool(orderService, meterRegistry, 1, 10, 100);
+
+    @Test
+    void testLoadedOrderIsCounted() {
+        // WHEN
+        underTest.process(ORDER_ID);
+
+        // THEN
+        verify(orderService).processOrder(ORDER_ID);
+        assertThat(processed("loaded")).isEqualTo(1);
+    }
+
+    @Test
+    void testOverloadIsRetried() {
+        // GIVEN
+        doThrow(new OverloadException(400.0)).when(orderService).processOrder(ORDER_ID);
+        given(orderService.retryOrder(ORDER_ID, "Unable to load. Load exceeds weight limit of 400.0"))
+                .willReturn(OrderStatus.PENDING);
+
+        // WHEN
+        underTest.process(ORDER_ID);
+
+        // THEN
+        verify(orderService, never()).failOrder(anyLong(), anyString());
+        assertThat(processed("retried")).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownDroneFailsOrder() {
+        // GIVEN
+        doThrow(new ResourceNotFoundException("Drone", "ID", 1001L)).when(orderService).processOrder(ORDER_ID);
+
+        // WHEN
+        underTest.process(ORDER_ID);
+
+        // THEN
+        verify(orderService).failOrder(ORDER_ID, "Drone not found with the given input data ID: '1001'");
+        assertThat(processed("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void testFailureToRecordOutcomeIsContained() {
+        // GIVEN
+        doThrow(new OverloadException(400.0)).when(orderService).processOrder(ORDER_ID);
+        given(orderService.retryOrder(anyLong(), anyString())).willThrow(new IllegalStateException("Gone"));
+
+        // WHEN
+        underTest.process(ORDER_ID);
+
+        // THEN
+        assertThat(meterRegistry.find("drone.orders.processed").counter()).isNull();
+    }
+
+    private double processed(String outcome) {
+        return meterRegistry.counter("drone.orders.processed", "outcome", outcome).count();
+    }
+}
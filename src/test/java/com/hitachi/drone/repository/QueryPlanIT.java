@@ -0,0 +1,147 @@
+package com.hitachi.drone.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+
+// Calls the repositories behind the hot queries against the migrated schema, captures the SQL Hibernate sends
+// and checks H2 plans it on the expected index. ANALYZE gives the planner the statistics of the seeded fleet
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.hitachi.drone.repository.QueryPlanIT$SqlCapture",
+        "drone.orders.enabled=false",
+        "drone.scheduler.initial-delay-ms=3600000" })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanIT {
+    private static final int FLEET_SIZE = 5000;
+    private static final long FIRST_ID = 1_000_000L;
+    private static final int BATCH_SIZE = 1000;
+    private static final Long DRONE_ID = FIRST_ID + 42;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DroneRepository droneRepository;
+
+    @Autowired
+    MedicationRepository medicationRepository;
+
+    @BeforeAll
+    void seedFleet() {
+        // Most of the fleet idles, a tenth is in flight; every other drone carries two medications
+        for (int from = 0; from < FLEET_SIZE; from += BATCH_SIZE) {
+            List<Object[]> drones = IntStream.range(from, from + BATCH_SIZE)
+                    .mapToObj(i -> new Object[] { FIRST_ID + i, "PLAN_" + i, DroneModel.HEAVYWEIGHT.name(),
+                            DroneModel.HEAVYWEIGHT.getMaxWeight(), 20 + i % 81,
+                            (i % 10 == 0 ? DroneState.DELIVERING : DroneState.IDLE).name() })
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO drone (id, serial_number, model, weight_limit, battery_capacity,"
+                    + " state) VALUES (?, ?, ?, ?, ?, ?)", drones);
+            List<Object[]> medications = IntStream.range(from, from + BATCH_SIZE)
+                    .filter(i -> i % 2 == 0)
+                    .boxed()
+                    .flatMap(i -> IntStream.range(0, 2).mapToObj(j -> new Object[] { FIRST_ID + 2L * i + j,
+                            "PLAN", 10.5, "PLAN_" + i + "_" + j, FIRST_ID + i }))
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO medication (id, name, weight, code, drone_id)"
+                    + " VALUES (?, ?, ?, ?, ?)", medications);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testMedicationsOfDroneUseDroneIndex() {
+        // H2 also indexes the foreign key on drone_id, under a name of its own, and plans the plain lookup on
+        // either index; databases that do not index foreign keys rely on idx_medication_drone
+        String droneKeyIndex = "(IDX_MEDICATION_DRONE|" + foreignKeyIndex("MEDICATION", "DRONE_ID") + ")";
+        String sql = capture(() -> medicationRepository.findAllByDroneId(DRONE_ID));
+        assertIndexLookup(sql, droneKeyIndex + ": DRONE_ID =", DRONE_ID);
+
+        List<Long> droneIds = List.of(FIRST_ID + 2, FIRST_ID + 4, FIRST_ID + 6);
+        sql = capture(() -> medicationRepository.findViewsByDroneIdIn(droneIds));
+        assertIndexLookup(sql, droneKeyIndex + ": DRONE_ID IN", droneIds.toArray());
+    }
+
+    @Test
+    void testMedicationPagesSeekOnDroneAndId() {
+        String sql = capture(() -> medicationRepository.findPageByDroneId(DRONE_ID, 0L, PageRequest.of(0, 200)));
+        assertIndexLookup(sql, "IDX_MEDICATION_DRONE: DRONE_ID = .*\\s+AND ID >", DRONE_ID, 0L, 200);
+
+        sql = capture(() -> medicationRepository.findViewPageByDroneId(DRONE_ID, 0L, PageRequest.of(0, 200)));
+        assertIndexLookup(sql, "IDX_MEDICATION_DRONE: DRONE_ID = .*\\s+AND ID >", DRONE_ID, 0L, 200);
+    }
+
+    @Test
+    void testSchedulerTickUsesStateIndex() {
+        // Run on every scheduler tick for the drones in flight
+        String sql = capture(() -> droneRepository.findStateByStateIn(
+                List.of(DroneState.DELIVERING, DroneState.DELIVERED, DroneState.RETURNING)));
+        assertIndexLookup(sql, "IDX_DRONE_STATE_BATTERY: STATE IN", "DELIVERING", "DELIVERED", "RETURNING");
+    }
+
+    @Test
+    void testAvailabilitySearchUsesStateIndexWithoutMedications() {
+        // Reads the loaded weight off the drone instead of joining medications
+        String sql = capture(() -> droneRepository.findAvailable(
+                List.of(DroneState.IDLE, DroneState.LOADING, DroneState.LOADED), 25, 100.0, null, 0L,
+                PageRequest.of(0, 50)));
+        String plan = assertIndexLookup(sql, "IDX_DRONE_STATE_BATTERY: STATE IN",
+                "IDLE", "LOADING", "LOADED", 25, null, null, 0L, 100.0, 50);
+        assertThat(plan).doesNotContain("MEDICATION");
+    }
+
+    // The parameters are bound in the order the statement takes them
+    private String assertIndexLookup(String sql, String indexCondition, Object... parameters) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertThat(plan).as(plan).containsPattern("/\\* PUBLIC\\." + indexCondition).doesNotContain("tableScan");
+        return plan;
+    }
+
+    private String foreignKeyIndex(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT c.INDEX_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS c"
+                + " JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = c.CONSTRAINT_SCHEMA"
+                + " AND k.CONSTRAINT_NAME = c.CONSTRAINT_NAME"
+                + " WHERE c.TABLE_NAME = ? AND c.CONSTRAINT_TYPE = 'FOREIGN KEY' AND k.COLUMN_NAME = ?",
+                String.class, table, column);
+    }
+
+    // The query itself; loads of eager associations of its results follow it
+    private static String capture(Runnable query) {
+        SqlCapture.STATEMENTS.get().clear();
+        query.run();
+        List<String> statements = SqlCapture.STATEMENTS.get();
+        assertThat(statements).isNotEmpty();
+        return statements.get(0);
+    }
+
+    /**
+     * Records the statements Hibernate prepares on the calling thread, leaving them unchanged.
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+}
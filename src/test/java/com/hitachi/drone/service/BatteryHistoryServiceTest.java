@@ -0,0 +1,117 @@
+package com.hitachi.drone.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hitachi.drone.dto.BatteryHistoryPointDto;
+import com.hitachi.drone.entity.BatteryRollup;
+import com.hitachi.drone.entity.BatteryRollupId;
+import com.hitachi.drone.enums.RollupResolution;
+import com.hitachi.drone.exceptions.InvalidRangeException;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.history.BatteryHistoryRecorder;
+import com.hitachi.drone.repository.BatteryRollupRepository;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.impl.BatteryHistoryService;
+
+public class BatteryHistoryServiceTest {
+    private static final Long DRONE_ID = 1001L;
+
+    private final BatteryRollupRepository batteryRollupRepository = mock(BatteryRollupRepository.class);
+    private final DroneRepository droneRepository = mock(DroneRepository.class);
+    private final BatteryHistoryRecorder batteryHistoryRecorder = mock(BatteryHistoryRecorder.class);
+    private BatteryHistoryService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new BatteryHistoryService(batteryRollupRepository, droneRepository, batteryHistoryRecorder);
+        given(droneRepository.existsById(DRONE_ID)).willReturn(true);
+        given(batteryHistoryRecorder.getMinuteRetention()).willReturn(Duration.ofDays(7));
+    }
+
+    @Test
+    void testMinuteRollupsAreFoldedIntoSteps() {
+        // GIVEN
+        Instant from = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(1, ChronoUnit.HOURS);
+        given(batteryRollupRepository.findRange(eq(DRONE_ID), eq(RollupResolution.MINUTE), any(), any()))
+                .willReturn(List.of(
+                        rollup(RollupResolution.MINUTE, from, 80, 90, 170, 2, 80),
+                        rollup(RollupResolution.MINUTE, from.plus(4, ChronoUnit.MINUTES), 60, 70, 130, 2, 60),
+                        rollup(RollupResolution.MINUTE, from.plus(5, ChronoUnit.MINUTES), 50, 50, 50, 1, 50)));
+
+        // WHEN
+        List<BatteryHistoryPointDto> points = underTest.getBatteryHistory(DRONE_ID, from,
+                from.plus(1, ChronoUnit.HOURS), Duration.ofMinutes(5));
+
+        // THEN
+        assertThat(points).hasSize(2);
+        assertThat(points.get(0)).isEqualTo(new BatteryHistoryPointDto(from, 60, 90, 75.0, 60, 4));
+        assertThat(points.get(1)).isEqualTo(
+                new BatteryHistoryPointDto(from.plus(5, ChronoUnit.MINUTES), 50, 50, 50.0, 50, 1));
+    }
+
+    @Test
+    void testHourRollupsAnswerCoarseSteps() {
+        // GIVEN
+        Instant to = Instant.now();
+        Instant from = to.minus(1, ChronoUnit.DAYS);
+
+        // WHEN
+        underTest.getBatteryHistory(DRONE_ID, from, to, Duration.ofHours(1));
+
+        // THEN
+        verify(batteryRollupRepository).findRange(DRONE_ID, RollupResolution.HOUR, from.truncatedTo(ChronoUnit.HOURS),
+                to);
+    }
+
+    @Test
+    void testHourRollupsAnswerRangesBeyondMinuteRetention() {
+        // GIVEN
+        Instant from = Instant.now().minus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        Instant to = from.plus(2, ChronoUnit.HOURS);
+
+        // WHEN
+        underTest.getBatteryHistory(DRONE_ID, from, to, Duration.ofMinutes(1));
+
+        // THEN
+        verify(batteryRollupRepository).findRange(DRONE_ID, RollupResolution.HOUR, from, to);
+    }
+
+    @Test
+    void testGetBatteryHistoryThrowsInvalidRangeException() {
+        // GIVEN
+        Instant from = Instant.now();
+
+        // WHEN THEN
+        assertThatThrownBy(() -> underTest.getBatteryHistory(DRONE_ID, from, from, null))
+                .isInstanceOf(InvalidRangeException.class);
+    }
+
+    @Test
+    void testGetBatteryHistoryThrowsResourceNotFoundException() {
+        // GIVEN
+        given(droneRepository.existsById(DRONE_ID)).willReturn(false);
+
+        // WHEN THEN
+        assertThatThrownBy(() -> underTest.getBatteryHistory(DRONE_ID, null, null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static BatteryRollup rollup(RollupResolution resolution, Instant bucketStart, int min, int max,
+            long sum, int samples, int last) {
+        return new BatteryRollup(new BatteryRollupId(DRONE_ID, resolution, bucketStart), min, max, sum, samples, last);
+    }
+}
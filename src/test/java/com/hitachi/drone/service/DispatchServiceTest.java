@@ -0,0 +1,89 @@
+package com.hitachi.drone.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.hitachi.drone.dto.DispatchItemDto;
+import com.hitachi.drone.dto.DispatchPlanDto;
+import com.hitachi.drone.dto.DispatchPlanRequestDto;
+import com.hitachi.drone.dto.DroneAssignmentDto;
+import com.hitachi.drone.enums.PackingStrategy;
+import com.hitachi.drone.lifecycle.TransitionGuard;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.impl.DispatchService;
+
+public class DispatchServiceTest {
+    private final DroneRepository droneRepository = mock(DroneRepository.class);
+    private final DispatchService underTest = new DispatchService(droneRepository);
+
+    @Test
+    void testPlanAssignsItemsToAvailableDrones() {
+        // GIVEN
+        given(droneRepository.findAvailable(anyCollection(), eq(TransitionGuard.LOW_BATTERY), eq(100.0), isNull(),
+                eq(0L), any()))
+                .willReturn(List.of(drone(1L, 400.0), drone(2L, 250.0)));
+        DispatchPlanRequestDto request = new DispatchPlanRequestDto(List.of(
+                new DispatchItemDto("CODE_1", 300.0),
+                new DispatchItemDto("CODE_2", 100.0),
+                new DispatchItemDto("CODE_3", 250.0),
+                new DispatchItemDto("CODE_4", 500.0)), PackingStrategy.BEST_FIT_DECREASING, false);
+
+        // WHEN
+        DispatchPlanDto plan = underTest.plan(request);
+
+        // THEN
+        assertThat(plan.getDronesConsidered()).isEqualTo(2);
+        assertThat(plan.getAssignments()).containsExactly(
+                new DroneAssignmentDto(1L, "SERIAL_1", List.of("CODE_1", "CODE_2"), 400.0, 0.0),
+                new DroneAssignmentDto(2L, "SERIAL_2", List.of("CODE_3"), 250.0, 0.0));
+        assertThat(plan.getUnassigned()).containsExactly("CODE_4");
+    }
+
+    @Test
+    void testPlanWithoutStrategyPicksBestPlan() {
+        // GIVEN
+        given(droneRepository.findAvailable(anyCollection(), any(), any(), any(), any(), any()))
+                .willReturn(List.of(drone(1L, 600.0), drone(2L, 600.0), drone(3L, 500.0)));
+        DispatchPlanRequestDto request = new DispatchPlanRequestDto(List.of(
+                new DispatchItemDto("CODE_1", 500.0),
+                new DispatchItemDto("CODE_2", 300.0),
+                new DispatchItemDto("CODE_3", 300.0)), null, true);
+
+        // WHEN
+        DispatchPlanDto plan = underTest.plan(request);
+
+        // THEN
+        assertThat(plan.getStrategy()).isNotEqualTo(PackingStrategy.WORST_FIT_DECREASING);
+        assertThat(plan.getAssignments()).hasSize(2);
+        assertThat(plan.getUnassigned()).isEmpty();
+    }
+
+    private static AvailableDroneView drone(Long id, Double remainingCapacity) {
+        return new AvailableDroneView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSerialNumber() {
+                return "SERIAL_" + id;
+            }
+
+            @Override
+            public Double getRemainingCapacity() {
+                return remainingCapacity;
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.hitachi.drone.service;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.exceptions.OverloadException;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class DroneServiceConcurrencyIT {
+    private static final Logger logger = LoggerFactory.getLogger(DroneServiceConcurrencyIT.class);
+
+    private static final int THREADS = 64;
+    private static final int LOADS_PER_THREAD = 4;
+    private static final DroneModel MODEL = DroneModel.CRUISERWEIGHT;
+    private static final Double MEDICATION_WEIGHT = 10.0;
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    DroneRepository droneRepository;
+
+    @Autowired
+    MedicationRepository medicationRepository;
+
+    private Drone drone;
+
+    @BeforeEach
+    void setUp() {
+        drone = new Drone();
+        drone.setSerialNumber("CONCURRENCY_001");
+        drone.setModel(MODEL);
+        drone.setState(DroneState.IDLE);
+        drone.setBatteryCapacity(100);
+        drone.setWeightLimit(MODEL.getMaxWeight());
+        droneRepository.save(drone);
+    }
+
+    @AfterEach
+    void tearDown() {
+        medicationRepository.deleteAll(medicationRepository.findAllByDroneId(drone.getId()));
+        droneRepository.deleteById(drone.getId());
+    }
+
+    @Test
+    void testConcurrentLoadsNeverExceedWeightLimit() throws Exception {
+        // GIVEN
+        // 64 threads x 4 loads x 10g = 2560g offered to an 800g drone
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger overloaded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            int threadIndex = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int load = 0; load < LOADS_PER_THREAD; load++) {
+                    try {
+                        droneService.loadDrone(drone.getId(), medication("C_" + threadIndex + "_" + load));
+                        loaded.incrementAndGet();
+                    } catch (OverloadException e) {
+                        overloaded.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // WHEN
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+        logger.info("{} loads, {} overloaded, {} gave up after retries in {} ms",
+                loaded.get(), overloaded.get(), conflicted.get(), elapsedMillis);
+
+        // THEN
+        double totalWeight = medicationRepository.findAllByDroneId(drone.getId()).stream()
+                .mapToDouble(Medication::getWeight).sum();
+        assertThat(totalWeight).isLessThanOrEqualTo(MODEL.getMaxWeight());
+        assertThat(totalWeight).isEqualTo(loaded.get() * MEDICATION_WEIGHT);
+        assertThat(droneRepository.findById(drone.getId()).orElseThrow().getLoadedWeight()).isEqualTo(totalWeight);
+        assertThat(loaded.get() + overloaded.get() + conflicted.get()).isEqualTo(THREADS * LOADS_PER_THREAD);
+        // Retries must not starve the drone: every gram of capacity ends up used
+        assertThat(totalWeight).isEqualTo(MODEL.getMaxWeight());
+    }
+
+    private Medication medication(String code) {
+        Medication medication = new Medication();
+        medication.setName("CONCURRENT_LOAD");
+        medication.setWeight(MEDICATION_WEIGHT);
+        medication.setCode(code);
+        return medication;
+    }
+}
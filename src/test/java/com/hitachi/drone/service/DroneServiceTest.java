@@ -7,29 +7,58 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.util.ResourceUtils;
 
+import com.hitachi.drone.dto.BulkRegistrationResponseDto;
+import com.hitachi.drone.dto.KeysetPageDto;
 import com.hitachi.drone.entity.Drone;
 import com.hitachi.drone.entity.Medication;
 import com.hitachi.drone.enums.DroneModel;
 import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.exceptions.BatchValidationException;
 import com.hitachi.drone.exceptions.BatteryLowException;
+import com.hitachi.drone.exceptions.InvalidStateTransitionException;
 import com.hitachi.drone.exceptions.OverloadException;
 import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.fleet.FleetEntry;
+import com.hitachi.drone.fleet.FleetStateIndex;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.projection.DroneSnapshotView;
+import com.hitachi.drone.projection.DroneSummaryView;
 import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationImageRepository;
 import com.hitachi.drone.repository.MedicationRepository;
 import com.hitachi.drone.service.impl.DroneService;
 
+import jakarta.validation.Validator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.mock;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URLConnection;
 import java.nio.file.Files;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,12 +72,12 @@ public class DroneServiceTest {
     private static final Double DRONE_WEIGHT_LIMIT = DroneModel.CRUISERWEIGHT.getMaxWeight();
     private static final Integer BATTERY_CAPACITY = 80;
     private static final Integer LOW_BATTERY = 20;
+    private static final Integer LOW_BATTERY_THRESHOLD = 25;
     private static final DroneState STATE = DroneState.IDLE;
 
     // Medication data
     private static final Long MEDICATION_ID = 2001L;
     private static final String MEDICATION_NAME = "SAMPLE_MEDICATION_NAME";
-    private static final String MEDICATION_NAME_2 = "OTHER_MEDICATION_NAME";
     private static final Double MEDICATION_WEIGHT = 200.0;
     private static final String MEDICATION_CODE = "SAMPLE_CODE_01";
     private static final String MEDICATION_CODE_2 = "SAMPLE_CODE_02";
@@ -62,6 +91,18 @@ public class DroneServiceTest {
     @Mock
     MedicationRepository medicationRepository;
 
+    @Mock
+    MedicationImageRepository medicationImageRepository;
+
+    @Mock
+    Validator validator;
+
+    @Mock
+    FleetStateIndex fleetStateIndex;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     private Drone drone;
     private Medication medication;
 
@@ -105,32 +146,94 @@ public class DroneServiceTest {
 
         // THEN
         verify(droneRepository).save(drone);
+        verify(eventPublisher).publishEvent(any(DroneStateChangedEvent.class));
         assertThat(result.getWeightLimit()).isEqualTo(DRONE_WEIGHT_LIMIT);
     }
 
+    @Test
+    void testRegisterDronesSkipsDuplicateSerialNumbers() {
+        // GIVEN
+        Drone sameSerialDrone = otherDrone(SERIAL_NUMBER);
+        Drone storedSerialDrone = otherDrone("SERIAL_STORED");
+        Drone newDrone = otherDrone("SERIAL_002");
+        given(droneRepository.findExistingSerialNumbers(anyCollection())).willReturn(Set.of("SERIAL_STORED"));
+
+        // WHEN
+        BulkRegistrationResponseDto result = underTest.registerDrones(
+                List.of(drone, sameSerialDrone, storedSerialDrone, newDrone), 500);
+
+        // THEN
+        verify(droneRepository).saveAll(List.of(drone, newDrone));
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getRegistered()).isEqualTo(2);
+        assertThat(result.getRejected())
+                .extracting(error -> error.getIndex())
+                .containsExactly(501, 502);
+        assertThat(result.getRejected().get(0).getErrors())
+                .containsExactly("serialNumber: Duplicate serial number within request");
+        assertThat(result.getRejected().get(1).getErrors())
+                .containsExactly("serialNumber: Drone with this serial number already exists");
+        assertThat(newDrone.getWeightLimit()).isEqualTo(DRONE_WEIGHT_LIMIT);
+    }
+
+    @Test
+    void testRegisterDronesReportsNullRow() {
+        // GIVEN
+        Drone newDrone = otherDrone("SERIAL_002");
+        given(droneRepository.findExistingSerialNumbers(anyCollection())).willReturn(Set.of());
+
+        // WHEN
+        BulkRegistrationResponseDto result = underTest.registerDrones(Arrays.asList(null, newDrone), 500);
+
+        // THEN
+        verify(droneRepository).saveAll(List.of(newDrone));
+        assertThat(result.getRegistered()).isEqualTo(1);
+        assertThat(result.getRejected()).hasSize(1);
+        assertThat(result.getRejected().get(0).getIndex()).isEqualTo(500);
+        assertThat(result.getRejected().get(0).getErrors()).containsExactly("Drone must not be null");
+    }
+
     @Test
     void testLoadDroneSuccess() throws IOException {
         // GIVEN
         drone.setId(DRONE_ID);
-        given(droneRepository.findById(DRONE_ID)).willReturn(Optional.of(drone));
-        given(medicationRepository.findAllByDroneId(DRONE_ID)).willReturn(new ArrayList<>());
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
 
         // WHEN
         underTest.loadDrone(DRONE_ID, medication);
 
         // THEN
-        verify(medicationRepository).save(medication);
+        verify(medicationRepository).saveAll(List.of(medication));
+        verify(medicationImageRepository).saveAll(anyList());
+        verify(eventPublisher).publishEvent(argThat((DroneStateChangedEvent event) ->
+                event.getState() == DroneState.LOADED && event.getBatteryCapacity() == null));
         assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(drone.getLoadedWeight()).isEqualTo(MEDICATION_WEIGHT);
         assertThat(medication.getDrone().getSerialNumber()).isEqualTo(SERIAL_NUMBER);
         assertThat(medication.getImageData()).isEqualTo(imageData);
         assertThat(medication.getImageName()).isEqualTo(imageName);
         assertThat(medication.getImageType()).isEqualTo(imageType);
     }
 
+    @Test
+    void testLoadDroneIgnoresSuppliedMedicationId() {
+        // GIVEN
+        drone.setId(DRONE_ID);
+        medication.setId(MEDICATION_ID);
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
+
+        // WHEN
+        underTest.loadDrone(DRONE_ID, medication);
+
+        // THEN
+        verify(medicationRepository).saveAll(List.of(medication));
+        assertThat(medication.getId()).isNull();
+    }
+
     @Test
     void testLoadDroneCannotBeFound() throws IOException {
         // GIVEN
-        given(droneRepository.findById(DRONE_ID)).willReturn(Optional.empty());
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.empty());
 
         // WHEN
         assertThatThrownBy(
@@ -146,7 +249,7 @@ public class DroneServiceTest {
         // GIVEN
         drone.setId(DRONE_ID);
         drone.setBatteryCapacity(LOW_BATTERY);
-        given(droneRepository.findById(DRONE_ID)).willReturn(Optional.of(drone));
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
 
         // WHEN
         assertThatThrownBy(
@@ -161,25 +264,255 @@ public class DroneServiceTest {
     void testLoadDroneOverloaded() throws IOException {
         // GIVEN
         drone.setId(DRONE_ID);
-        Medication existingMedication = new Medication();
-        existingMedication.setId(MEDICATION_ID);
-        existingMedication.setName(MEDICATION_NAME_2);
-        existingMedication.setCode(MEDICATION_CODE_2);
-        existingMedication.setWeight(MODEL.getMaxWeight());
-        existingMedication.setImageName(imageName);
-        existingMedication.setImageData(imageData);
-        existingMedication.setImageType(imageType);
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
+        drone.setLoadedWeight(MODEL.getMaxWeight());
 
-        given(droneRepository.findById(DRONE_ID)).willReturn(Optional.of(drone));
-        given(medicationRepository.findAllByDroneId(DRONE_ID)).willReturn(List.of(existingMedication));
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.loadDrone(DRONE_ID, medication);
+                })
+                .isInstanceOf(OverloadException.class)
+                .hasMessageContaining("Unable to load. Load exceeds weight limit of " + DRONE_WEIGHT_LIMIT);
+    }
+
+    @Test
+    void testLoadDroneInFlight() {
+        // GIVEN
+        drone.setId(DRONE_ID);
+        drone.setState(DroneState.DELIVERING);
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
 
         // WHEN
         assertThatThrownBy(
                 () -> {
                     underTest.loadDrone(DRONE_ID, medication);
                 })
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessage("Drone cannot be loaded while DELIVERING");
+        verify(medicationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testDispatchDroneSuccess() {
+        // GIVEN
+        drone.setId(DRONE_ID);
+        drone.setState(DroneState.LOADED);
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
+        drone.setLoadedWeight(MEDICATION_WEIGHT);
+
+        // WHEN
+        underTest.dispatchDrone(DRONE_ID);
+
+        // THEN
+        assertThat(drone.getState()).isEqualTo(DroneState.DELIVERING);
+        verify(eventPublisher).publishEvent(argThat((DroneStateChangedEvent event) ->
+                event.getState() == DroneState.DELIVERING && event.getBatteryCapacity() == null));
+    }
+
+    @Test
+    void testDispatchEmptyDrone() {
+        // GIVEN
+        drone.setId(DRONE_ID);
+        drone.setState(DroneState.LOADED);
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
+
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.dispatchDrone(DRONE_ID);
+                })
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessage("Drone has no medications to deliver");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testAdvanceDronesUnloadsOnArrival() {
+        // GIVEN
+        List<Long> ids = List.of(DRONE_ID, DRONE_ID + 1, DRONE_ID + 2);
+        DroneSnapshotView arriving = snapshot(DRONE_ID, DroneState.DELIVERING, BATTERY_CAPACITY);
+        DroneSnapshotView modified = snapshot(DRONE_ID + 1, DroneState.DELIVERING, BATTERY_CAPACITY);
+        given(droneRepository.findSnapshotByIdIn(ids)).willReturn(List.of(arriving, modified,
+                snapshot(DRONE_ID + 2, DroneState.IDLE, BATTERY_CAPACITY)));
+        given(droneRepository.transitionState(List.of(arriving, modified), DroneTransition.ARRIVE))
+                .willReturn(new int[] { 1, 0 });
+
+        // WHEN
+        int result = underTest.advanceDrones(DroneTransition.ARRIVE, ids);
+
+        // THEN
+        assertThat(result).isEqualTo(1);
+        verify(medicationRepository).unloadDrones(List.of(DRONE_ID));
+        verify(eventPublisher).publishEvent(argThat((DroneStateChangedEvent event) ->
+                event.getDroneId().equals(DRONE_ID) && event.getState() == DroneState.DELIVERED
+                        && event.getLoadedWeight() == 0.0 && event.getBatteryCapacity() == null));
+    }
+
+    @Test
+    void testAdvanceDronesChargesBatteryOnReturn() {
+        // GIVEN
+        List<Long> ids = List.of(DRONE_ID, DRONE_ID + 1);
+        List<DroneSnapshotView> drones = List.of(snapshot(DRONE_ID, DroneState.DELIVERED, BATTERY_CAPACITY),
+                snapshot(DRONE_ID + 1, DroneState.DELIVERED, 5));
+        given(droneRepository.findSnapshotByIdIn(ids)).willReturn(drones);
+        given(droneRepository.transitionState(drones, DroneTransition.RETURN)).willReturn(new int[] { 1, 1 });
+
+        // WHEN
+        underTest.advanceDrones(DroneTransition.RETURN, ids);
+
+        // THEN
+        verify(medicationRepository, never()).unloadDrones(anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(argThat((DroneStateChangedEvent event) ->
+                event.getBatteryCapacity() == (event.getDroneId().equals(DRONE_ID) ? BATTERY_CAPACITY - 10 : 0)));
+    }
+
+    @Test
+    void testLoadDroneBatchSuccess() {
+        // GIVEN
+        drone.setId(DRONE_ID);
+        Medication otherMedication = otherMedication(MEDICATION_CODE_2);
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
+        given(medicationRepository.findExistingCodes(anyCollection())).willReturn(Set.of());
+
+        // WHEN
+        underTest.loadDroneBatch(DRONE_ID, List.of(medication, otherMedication));
+
+        // THEN
+        verify(medicationRepository).saveAll(List.of(medication, otherMedication));
+        assertThat(drone.getState()).isEqualTo(DroneState.LOADED);
+        assertThat(otherMedication.getDrone().getSerialNumber()).isEqualTo(SERIAL_NUMBER);
+    }
+
+    @Test
+    void testLoadDroneBatchReportsInvalidItems() {
+        // GIVEN
+        given(medicationRepository.findExistingCodes(anyCollection())).willReturn(Set.of(MEDICATION_CODE_2));
+        List<Medication> medications = List.of(medication, otherMedication(MEDICATION_CODE),
+                otherMedication(MEDICATION_CODE_2));
+
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.loadDroneBatch(DRONE_ID, medications);
+                })
+                .isInstanceOf(BatchValidationException.class)
+                .hasMessageContaining("2 of 3 medications are invalid")
+                .satisfies(exception -> {
+                    BatchValidationException batchException = (BatchValidationException) exception;
+                    assertThat(batchException.getItemErrors())
+                            .extracting(error -> error.getIndex())
+                            .containsExactly(1, 2);
+                    assertThat(batchException.getItemErrors().get(0).getErrors())
+                            .containsExactly("code: Duplicate code within batch");
+                    assertThat(batchException.getItemErrors().get(1).getErrors())
+                            .containsExactly("code: Medication with this code already exists");
+                });
+        verify(medicationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testLoadDroneBatchReportsNullItem() {
+        // GIVEN
+        given(medicationRepository.findExistingCodes(anyCollection())).willReturn(Set.of());
+        List<Medication> medications = Arrays.asList(medication, null);
+
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.loadDroneBatch(DRONE_ID, medications);
+                })
+                .isInstanceOf(BatchValidationException.class)
+                .hasMessageContaining("1 of 2 medications are invalid")
+                .satisfies(exception -> assertThat(((BatchValidationException) exception).getItemErrors())
+                        .singleElement()
+                        .satisfies(error -> {
+                            assertThat(error.getIndex()).isEqualTo(1);
+                            assertThat(error.getErrors()).containsExactly("Medication must not be null");
+                        }));
+        verify(medicationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testLoadDroneBatchOverloaded() {
+        // GIVEN
+        drone.setId(DRONE_ID);
+        Medication otherMedication = otherMedication(MEDICATION_CODE_2);
+        otherMedication.setWeight(MODEL.getMaxWeight());
+        given(droneRepository.findForLoadingById(DRONE_ID)).willReturn(Optional.of(drone));
+        given(medicationRepository.findExistingCodes(anyCollection())).willReturn(Set.of());
+
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.loadDroneBatch(DRONE_ID, List.of(medication, otherMedication));
+                })
                 .isInstanceOf(OverloadException.class)
                 .hasMessageContaining("Unable to load. Load exceeds weight limit of " + DRONE_WEIGHT_LIMIT);
+        verify(medicationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testGetLoadedMedicationsPageOfUnknownDrone() {
+        // GIVEN
+        given(medicationRepository.findPageByDroneId(eq(DRONE_ID), eq(0L), any())).willReturn(List.of());
+        given(droneRepository.existsById(DRONE_ID)).willReturn(false);
+
+        // WHEN
+        // THEN
+        assertThatThrownBy(() -> underTest.getLoadedMedicationsPage(DRONE_ID, 0L, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testGetLoadedMedicationsPageSkipsDroneLookup() {
+        // GIVEN
+        given(medicationRepository.findPageByDroneId(eq(DRONE_ID), eq(0L), any())).willReturn(List.of(medication));
+
+        // WHEN
+        List<Medication> result = underTest.getLoadedMedicationsPage(DRONE_ID, 0L, 10);
+
+        // THEN
+        assertThat(result).containsExactly(medication);
+        verifyNoInteractions(droneRepository);
+    }
+
+    @Test
+    void testGetLoadedMedicationsByDroneIdsGroupsByDrone() {
+        // GIVEN
+        DroneMedicationView first = mock(DroneMedicationView.class);
+        given(first.getDroneId()).willReturn(1L);
+        DroneMedicationView second = mock(DroneMedicationView.class);
+        given(second.getDroneId()).willReturn(1L);
+        List<Long> droneIds = List.of(1L, 2L, 3L);
+        given(droneRepository.findExistingIds(droneIds)).willReturn(Set.of(2L, 1L));
+        given(medicationRepository.findViewsByDroneIdIn(droneIds)).willReturn(List.of(first, second));
+
+        // WHEN
+        Map<Long, List<DroneMedicationView>> result = underTest.getLoadedMedicationsByDroneIds(droneIds);
+
+        // THEN
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertThat(result.keySet()).containsExactly(1L, 2L);
+        assertThat(result.get(1L)).containsExactly(first, second);
+        assertThat(result.get(2L)).isEmpty();
+    }
+
+    @Test
+    void testGetLoadedMedicationsByDroneIdsKeepsDroneLoadedBetweenQueries() {
+        // GIVEN a drone registered and loaded after its ids were read
+        DroneMedicationView medication = mock(DroneMedicationView.class);
+        given(medication.getDroneId()).willReturn(3L);
+        List<Long> droneIds = List.of(1L, 3L);
+        given(droneRepository.findExistingIds(droneIds)).willReturn(Set.of(1L));
+        given(medicationRepository.findViewsByDroneIdIn(droneIds)).willReturn(List.of(medication));
+
+        // WHEN
+        Map<Long, List<DroneMedicationView>> result = underTest.getLoadedMedicationsByDroneIds(droneIds);
+
+        // THEN
+        assertThat(result.keySet()).containsExactly(1L, 3L);
+        assertThat(result.get(3L)).containsExactly(medication);
     }
 
     @Test
@@ -194,6 +527,19 @@ public class DroneServiceTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    void testCheckDroneAvailabilityServedFromFleetIndex() {
+        // GIVEN
+        given(fleetStateIndex.find(DRONE_ID)).willReturn(Optional.of(FleetEntry.of(drone, 0.0)));
+
+        // WHEN
+        Boolean result = underTest.checkDroneAvailability(DRONE_ID);
+
+        // THEN
+        assertThat(result).isTrue();
+        verifyNoInteractions(droneRepository, medicationRepository);
+    }
+
     @Test
     void testCheckDroneAvailabilityWithLowBatteryReturnsFalse() {
         // GIVEN
@@ -244,6 +590,7 @@ public class DroneServiceTest {
 
         // THEN
         assertThat(result).isEqualTo(BATTERY_CAPACITY);
+        verify(fleetStateIndex).put(argThat(id -> id.equals(DRONE_ID)), any(FleetEntry.class), anyLong());
     }
 
     @Test
@@ -260,4 +607,104 @@ public class DroneServiceTest {
                 .hasMessageContaining("Drone not found with the given input data ID: '" + DRONE_ID + "'");
     }
 
+    @Test
+    void testListDronesReturnsCursorForFullPage() {
+        // GIVEN
+        DroneSummaryView summary = mock(DroneSummaryView.class);
+        given(summary.getId()).willReturn(DRONE_ID);
+        given(droneRepository.findSummaryPage(STATE, null, 0L, PageRequest.of(0, 1))).willReturn(List.of(summary));
+
+        // WHEN
+        KeysetPageDto<DroneSummaryView> result = underTest.listDrones(STATE, null, 0L, 1);
+
+        // THEN
+        assertThat(result.getItems()).containsExactly(summary);
+        assertThat(result.getNextAfterId()).isEqualTo(DRONE_ID);
+    }
+
+    @Test
+    void testListDronesCapsPageSize() {
+        // GIVEN
+        given(droneRepository.findSummaryPage(null, MODEL, DRONE_ID, PageRequest.of(0, 500))).willReturn(List.of());
+
+        // WHEN
+        KeysetPageDto<DroneSummaryView> result = underTest.listDrones(null, MODEL, DRONE_ID, 10000);
+
+        // THEN
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextAfterId()).isNull();
+    }
+
+    @Test
+    void testFindAvailableDronesReturnsCursorForFullPage() {
+        // GIVEN
+        AvailableDroneView availableDrone = mock(AvailableDroneView.class);
+        given(availableDrone.getId()).willReturn(DRONE_ID);
+        given(droneRepository.findAvailable(anyCollection(), eq(LOW_BATTERY_THRESHOLD), eq(MEDICATION_WEIGHT),
+                eq(MODEL), eq(0L), eq(PageRequest.of(0, 1)))).willReturn(List.of(availableDrone));
+
+        // WHEN
+        KeysetPageDto<AvailableDroneView> result = underTest.findAvailableDrones(MEDICATION_WEIGHT, LOW_BATTERY,
+                MODEL, 0L, 1);
+
+        // THEN
+        assertThat(result.getItems()).containsExactly(availableDrone);
+        assertThat(result.getNextAfterId()).isEqualTo(DRONE_ID);
+    }
+
+    @Test
+    void testFindAvailableDronesLastPageHasNoCursor() {
+        // GIVEN
+        given(droneRepository.findAvailable(anyCollection(), eq(BATTERY_CAPACITY), eq(MEDICATION_WEIGHT),
+                eq(null), eq(0L), eq(PageRequest.of(0, 50)))).willReturn(List.of());
+
+        // WHEN
+        KeysetPageDto<AvailableDroneView> result = underTest.findAvailableDrones(MEDICATION_WEIGHT,
+                BATTERY_CAPACITY, null, 0L, 50);
+
+        // THEN
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextAfterId()).isNull();
+    }
+
+    private Medication otherMedication(String code) {
+        Medication otherMedication = new Medication();
+        otherMedication.setName(MEDICATION_NAME);
+        otherMedication.setWeight(MEDICATION_WEIGHT);
+        otherMedication.setCode(code);
+        return otherMedication;
+    }
+
+    private Drone otherDrone(String serialNumber) {
+        Drone other = new Drone();
+        other.setSerialNumber(serialNumber);
+        other.setModel(MODEL);
+        other.setState(STATE);
+        other.setBatteryCapacity(BATTERY_CAPACITY);
+        return other;
+    }
+
+    private static DroneSnapshotView snapshot(Long id, DroneState state, Integer batteryCapacity) {
+        return new DroneSnapshotView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public DroneState getState() {
+                return state;
+            }
+
+            @Override
+            public Integer getBatteryCapacity() {
+                return batteryCapacity;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
 }
@@ -0,0 +1,163 @@
+package com.hitachi.drone.service;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.hitachi.drone.dto.ImageMetadataDto;
+import com.hitachi.drone.dto.KeysetPageDto;
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.entity.MedicationImage;
+import com.hitachi.drone.exceptions.ResourceNotFoundException;
+import com.hitachi.drone.projection.DroneMedicationView;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationImageRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import com.hitachi.drone.service.impl.MedicationService;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicationServiceTest {
+    private static final Long MEDICATION_ID = 2001L;
+    private static final Long DRONE_ID = 1001L;
+    private static final String MEDICATION_NAME = "SAMPLE_MEDICATION_NAME";
+    private static final byte[] IMAGE_DATA = { 1, 2, 3, 4, 5 };
+
+    @InjectMocks
+    MedicationService underTest;
+
+    @Mock
+    MedicationRepository medicationRepository;
+
+    @Mock
+    MedicationImageRepository medicationImageRepository;
+
+    @Mock
+    DroneRepository droneRepository;
+
+    private Medication medication;
+
+    @BeforeEach
+    void setUp() {
+        medication = new Medication();
+        medication.setId(MEDICATION_ID);
+        medication.setName(MEDICATION_NAME);
+    }
+
+    @Test
+    void testListMedicationsReturnsCursorForFullPage() {
+        // GIVEN
+        DroneMedicationView view = mock(DroneMedicationView.class);
+        given(view.getId()).willReturn(MEDICATION_ID);
+        given(medicationRepository.findViewPage(0L, PageRequest.of(0, 1))).willReturn(List.of(view));
+
+        // WHEN
+        KeysetPageDto<DroneMedicationView> result = underTest.listMedications(null, 0L, 1);
+
+        // THEN
+        assertThat(result.getItems()).containsExactly(view);
+        assertThat(result.getNextAfterId()).isEqualTo(MEDICATION_ID);
+        verifyNoInteractions(droneRepository);
+    }
+
+    @Test
+    void testListMedicationsOfUnknownDrone() {
+        // GIVEN
+        given(medicationRepository.findViewPageByDroneId(DRONE_ID, 0L, PageRequest.of(0, 50))).willReturn(List.of());
+        given(droneRepository.existsById(DRONE_ID)).willReturn(false);
+
+        // WHEN
+        // THEN
+        assertThatThrownBy(() -> underTest.listMedications(DRONE_ID, 0L, 50))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testListMedicationsOfEmptyDrone() {
+        // GIVEN
+        given(medicationRepository.findViewPageByDroneId(DRONE_ID, 0L, PageRequest.of(0, 50))).willReturn(List.of());
+        given(droneRepository.existsById(DRONE_ID)).willReturn(true);
+
+        // WHEN
+        KeysetPageDto<DroneMedicationView> result = underTest.listMedications(DRONE_ID, 0L, 50);
+
+        // THEN
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextAfterId()).isNull();
+    }
+
+    @Test
+    void testGetImageMetadataSuccess() {
+        // GIVEN
+        given(medicationRepository.findById(MEDICATION_ID)).willReturn(Optional.of(medication));
+        given(medicationImageRepository.existsById(MEDICATION_ID)).willReturn(true);
+
+        // WHEN
+        ImageMetadataDto result = underTest.getImageMetadata(MEDICATION_ID);
+
+        // THEN
+        assertThat(result.imageName()).isEqualTo(medication.getImageName());
+        assertThat(result.imageType()).isEqualTo(medication.getImageType());
+    }
+
+    @Test
+    void testGetImageMetadataWithoutImage() {
+        // GIVEN
+        given(medicationRepository.findById(MEDICATION_ID)).willReturn(Optional.of(medication));
+        given(medicationImageRepository.existsById(MEDICATION_ID)).willReturn(false);
+
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.getImageMetadata(MEDICATION_ID);
+                })
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(
+                        "Medication image not found with the given input data ID: '" + MEDICATION_ID + "'");
+    }
+
+    @Test
+    void testStreamImageSuccess() throws IOException {
+        // GIVEN
+        MedicationImage image = new MedicationImage(MEDICATION_ID, medication, BlobProxy.generateProxy(IMAGE_DATA));
+        given(medicationImageRepository.findById(MEDICATION_ID)).willReturn(Optional.of(image));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // WHEN
+        underTest.streamImage(MEDICATION_ID, outputStream);
+
+        // THEN
+        assertThat(outputStream.toByteArray()).isEqualTo(IMAGE_DATA);
+    }
+
+    @Test
+    void testStreamImageThrowsResourceNotFound() {
+        // GIVEN
+        given(medicationImageRepository.findById(MEDICATION_ID)).willReturn(Optional.empty());
+
+        // WHEN
+        assertThatThrownBy(
+                () -> {
+                    underTest.streamImage(MEDICATION_ID, new ByteArrayOutputStream());
+                })
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(
+                        "Medication image not found with the given input data ID: '" + MEDICATION_ID + "'");
+    }
+}
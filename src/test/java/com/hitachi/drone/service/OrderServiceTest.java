@@ -0,0 +1,140 @@
+package com.hitachi.drone.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.hitachi.drone.entity.DeliveryOrder;
+import com.hitachi.drone.enums.OrderStatus;
+import com.hitachi.drone.exceptions.NoDroneAvailableException;
+import com.hitachi.drone.projection.AvailableDroneView;
+import com.hitachi.drone.repository.DeliveryOrderRepository;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.impl.OrderService;
+
+public class OrderServiceTest {
+    private static final Long ORDER_ID = 3001L;
+    private static final Long DRONE_ID = 1001L;
+
+    private final DeliveryOrderRepository deliveryOrderRepository = mock(DeliveryOrderRepository.class);
+    private final DroneRepository droneRepository = mock(DroneRepository.class);
+    private final IDroneService droneService = mock(IDroneService.class);
+    private final OrderService underTest = new OrderService(deliveryOrderRepository, droneRepository, droneService,
+            60_000, 1_000, 60_000, 3);
+
+    @Test
+    void testProcessOrderLoadsRequestedDrone() {
+        // GIVEN
+        DeliveryOrder order = order(DRONE_ID, OrderStatus.CLAIMED, 0);
+        given(deliveryOrderRepository.findByIdForUpdate(ORDER_ID)).willReturn(Optional.of(order));
+
+        // WHEN
+        underTest.processOrder(ORDER_ID);
+
+        // THEN
+        verify(droneService).loadDrone(eq(DRONE_ID), argThat(medication -> "CODE_01".equals(medication.getCode())
+                && medication.getWeight() == 100.0));
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.LOADED);
+        assertThat(order.getLoadedDroneId()).isEqualTo(DRONE_ID);
+        assertThat(order.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void testProcessOrderSkipsOrderNoLongerClaimed() {
+        // GIVEN
+        given(deliveryOrderRepository.findByIdForUpdate(ORDER_ID))
+                .willReturn(Optional.of(order(DRONE_ID, OrderStatus.LOADED, 1)));
+
+        // WHEN
+        underTest.processOrder(ORDER_ID);
+
+        // THEN
+        verify(droneService, never()).loadDrone(any(), any());
+    }
+
+    @Test
+    void testProcessOrderThrowsNoDroneAvailableException() {
+        // GIVEN
+        given(deliveryOrderRepository.findByIdForUpdate(ORDER_ID))
+                .willReturn(Optional.of(order(null, OrderStatus.CLAIMED, 0)));
+        given(droneRepository.findAvailable(anyCollection(), any(), eq(100.0), any(), any(), any()))
+                .willReturn(List.<AvailableDroneView>of());
+
+        // WHEN THEN
+        assertThatThrownBy(() -> underTest.processOrder(ORDER_ID)).isInstanceOf(NoDroneAvailableException.class);
+    }
+
+    @Test
+    void testRetryOrderBacksOffThenFails() {
+        // GIVEN
+        DeliveryOrder order = order(DRONE_ID, OrderStatus.CLAIMED, 1);
+        given(deliveryOrderRepository.findByIdForUpdate(ORDER_ID)).willReturn(Optional.of(order));
+
+        // WHEN
+        Instant before = Instant.now();
+        OrderStatus retried = underTest.retryOrder(ORDER_ID, "Full");
+
+        // THEN the second attempt waits twice the base delay
+        assertThat(retried).isEqualTo(OrderStatus.PENDING);
+        assertThat(order.getNextAttemptAt()).isAfterOrEqualTo(before.plus(Duration.ofSeconds(2)));
+        assertThat(order.getLastError()).isEqualTo("Full");
+
+        // WHEN the last attempt fails too
+        order.setStatus(OrderStatus.CLAIMED);
+        OrderStatus failed = underTest.retryOrder(ORDER_ID, "Still full");
+
+        // THEN
+        assertThat(failed).isEqualTo(OrderStatus.FAILED);
+        assertThat(order.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void testProcessOrderSkipsExpiredClaim() {
+        // GIVEN
+        DeliveryOrder order = order(DRONE_ID, OrderStatus.CLAIMED, 0);
+        order.setClaimedUntil(Instant.now().minusSeconds(1));
+        given(deliveryOrderRepository.findByIdForUpdate(ORDER_ID)).willReturn(Optional.of(order));
+
+        // WHEN
+        underTest.processOrder(ORDER_ID);
+
+        // THEN
+        verify(droneService, never()).loadDrone(any(), any());
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CLAIMED);
+    }
+
+    @Test
+    void testFailOrderKeepsLoadedOrder() {
+        // GIVEN
+        DeliveryOrder order = order(DRONE_ID, OrderStatus.LOADED, 1);
+        given(deliveryOrderRepository.findByIdForUpdate(ORDER_ID)).willReturn(Optional.of(order));
+
+        // WHEN
+        underTest.failOrder(ORDER_ID, "Duplicate code");
+
+        // THEN
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.LOADED);
+        assertThat(order.getAttempts()).isEqualTo(1);
+        assertThat(order.getLastError()).isNull();
+    }
+
+    private static DeliveryOrder order(Long droneId, OrderStatus status, int attempts) {
+        Instant claimedUntil = status == OrderStatus.CLAIMED ? Instant.now().plusSeconds(60) : null;
+        return new DeliveryOrder(ORDER_ID, droneId, "Aspirin", 100.0, "CODE_01", status, attempts, Instant.now(),
+                claimedUntil, null, null, Instant.now());
+    }
+}
@@ -0,0 +1,119 @@
+package com.hitachi.drone.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.hitachi.drone.event.DroneStateChangedEvent;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.impl.TelemetryService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TelemetryServiceTest {
+    private static final Long DRONE_ID = 1001L;
+    private static final Long OTHER_DRONE_ID = 1002L;
+
+    private final DroneRepository droneRepository = mock(DroneRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private TelemetryService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TelemetryService(droneRepository, eventPublisher, new SimpleMeterRegistry(), 10);
+    }
+
+    @Test
+    void testReportsAreCoalescedPerDrone() {
+        // GIVEN
+        underTest.recordBattery(DRONE_ID, 90);
+        underTest.recordBattery(OTHER_DRONE_ID, 60);
+        underTest.recordBattery(DRONE_ID, 85);
+        given(droneRepository.updateBatteryCapacities(anyMap())).willReturn(new int[] { 1, 1 });
+
+        // WHEN
+        int written = underTest.flushBatteries();
+
+        // THEN
+        assertThat(written).isEqualTo(2);
+        verify(droneRepository).updateBatteryCapacities(Map.of(DRONE_ID, 85, OTHER_DRONE_ID, 60));
+        verify(eventPublisher).publishEvent(argThat((DroneStateChangedEvent event) ->
+                event.getDroneId().equals(DRONE_ID) && event.getBatteryCapacity() == 85
+                        && event.getState() == null));
+        assertThat(underTest.flushBatteries()).isZero();
+    }
+
+    @Test
+    void testReportsOfUnknownDronesAreDropped() {
+        // GIVEN
+        underTest.recordBattery(DRONE_ID, 90);
+        given(droneRepository.updateBatteryCapacities(anyMap())).willReturn(new int[] { 0 });
+
+        // WHEN
+        int written = underTest.flushBatteries();
+
+        // THEN
+        assertThat(written).isZero();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testInvalidReportsAreRejected() {
+        // WHEN
+        // THEN
+        assertThat(underTest.recordBattery(DRONE_ID, 101)).isFalse();
+        assertThat(underTest.recordBattery(null, 50)).isFalse();
+        assertThat(underTest.flushBatteries()).isZero();
+        verify(droneRepository, never()).updateBatteryCapacities(anyMap());
+    }
+
+    @Test
+    void testBinaryRecordsAreDecoded() {
+        // GIVEN
+        ByteBuffer records = ByteBuffer.allocate(2 * ITelemetryService.RECORD_SIZE + 3);
+        records.putLong(DRONE_ID).put((byte) 90).putLong(OTHER_DRONE_ID).put((byte) 200).put(new byte[3]).flip();
+        given(droneRepository.updateBatteryCapacities(anyMap())).willReturn(new int[] { 1 });
+
+        // WHEN
+        int accepted = underTest.recordBinary(records);
+
+        // THEN
+        assertThat(accepted).isEqualTo(1);
+        underTest.flushBatteries();
+        verify(droneRepository).updateBatteryCapacities(Map.of(DRONE_ID, 90));
+    }
+
+    @Test
+    void testFailedFlushKeepsItsReports() {
+        // GIVEN
+        underTest.recordBattery(DRONE_ID, 90);
+        underTest.recordBattery(OTHER_DRONE_ID, 60);
+        given(droneRepository.updateBatteryCapacities(anyMap()))
+                .willThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .willReturn(new int[] { 1, 1 });
+
+        // WHEN
+        assertThatThrownBy(() -> underTest.flushBatteries()).isInstanceOf(DataAccessResourceFailureException.class);
+        // A report that arrives after the failed flush is newer than the one put back
+        underTest.recordBattery(DRONE_ID, 85);
+        int written = underTest.flushBatteries();
+
+        // THEN
+        assertThat(written).isEqualTo(2);
+        verify(droneRepository).updateBatteryCapacities(Map.of(DRONE_ID, 85, OTHER_DRONE_ID, 60));
+    }
+}
@@ -0,0 +1,135 @@
+package com.hitachi.drone.sheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.IntStream;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.entity.Medication;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.TransitionTimer;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.repository.MedicationRepository;
+import com.hitachi.drone.scheduler.DroneStateScheduler;
+import com.hitachi.drone.service.IDroneService;
+
+// Keeps the background tick out of the way, so only the ticks under test touch the seeded drones; timed
+// transitions are due at once. How long a tick takes at fleet scale is measured by SchedulerTickBenchmark
+@SpringBootTest(properties = { "drone.scheduler.initial-delay-ms=3600000", "drone.lifecycle.delivery-ms=0",
+        "drone.lifecycle.unload-ms=0", "drone.lifecycle.return-ms=0" })
+public class DroneStateSchedulerIT {
+    // Well clear of the ids handed out by drone_seq
+    private static final long FIRST_ID = 1_000_000L;
+    private static final DroneModel MODEL = DroneModel.CRUISERWEIGHT;
+    private static final int FLEET_SIZE = 300;
+
+    @Autowired
+    DroneStateScheduler droneStateScheduler;
+
+    @Autowired
+    TransitionTimer transitionTimer;
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    DroneRepository droneRepository;
+
+    @Autowired
+    MedicationRepository medicationRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // Follow-up transitions of deleted drones are no-ops, but are drained so they stay out of the next test
+        transitionTimer.drainDue();
+        jdbcTemplate.update("DELETE FROM medication WHERE code LIKE 'LIFECYCLE_%'");
+        jdbcTemplate.update("DELETE FROM drone WHERE id >= ? OR serial_number LIKE 'LIFECYCLE_%'", FIRST_ID);
+    }
+
+    @Test
+    void testTickAdvancesEveryDueDrone() {
+        // GIVEN
+        seedDeliveredDrones(FLEET_SIZE);
+        IntStream.range(0, FLEET_SIZE).forEach(i -> transitionTimer.schedule(FIRST_ID + i, DroneTransition.RETURN, 0));
+
+        // WHEN
+        droneStateScheduler.advanceDueTransitions();
+
+        // THEN
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM drone WHERE id >= ? AND state = ? AND battery_capacity = ?",
+                Integer.class, FIRST_ID, DroneState.RETURNING.name(), 70)).isEqualTo(FLEET_SIZE);
+    }
+
+    @Test
+    void testIdleTickLeavesFleetUntouched() {
+        // GIVEN
+        seedDeliveredDrones(FLEET_SIZE);
+
+        // WHEN
+        droneStateScheduler.advanceDueTransitions();
+
+        // THEN
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM drone WHERE id >= ? AND state = ?",
+                Integer.class, FIRST_ID, DroneState.DELIVERED.name())).isEqualTo(FLEET_SIZE);
+    }
+
+    @Test
+    void testDroneCompletesDeliveryAndBecomesIdle() {
+        // GIVEN
+        Drone drone = new Drone();
+        drone.setSerialNumber("LIFECYCLE_001");
+        drone.setModel(MODEL);
+        drone.setState(DroneState.IDLE);
+        drone.setBatteryCapacity(80);
+        drone = droneService.registerDrone(drone);
+        Medication medication = new Medication();
+        medication.setName("LIFECYCLE");
+        medication.setCode("LIFECYCLE_01");
+        medication.setWeight(200.0);
+        droneService.loadDrone(drone.getId(), medication);
+
+        // WHEN
+        droneService.dispatchDrone(drone.getId());
+        assertThat(droneRepository.findById(drone.getId()).orElseThrow().getState())
+                .isEqualTo(DroneState.DELIVERING);
+        droneStateScheduler.advanceDueTransitions();
+        assertThat(droneRepository.findById(drone.getId()).orElseThrow().getState())
+                .isEqualTo(DroneState.DELIVERED);
+        assertThat(medicationRepository.findAllByDroneId(drone.getId())).isEmpty();
+        assertThat(droneRepository.findById(drone.getId()).orElseThrow().getLoadedWeight()).isZero();
+        droneStateScheduler.advanceDueTransitions();
+        assertThat(droneRepository.findById(drone.getId()).orElseThrow().getState())
+                .isEqualTo(DroneState.RETURNING);
+        droneStateScheduler.advanceDueTransitions();
+
+        // THEN
+        Drone docked = droneRepository.findById(drone.getId()).orElseThrow();
+        assertThat(docked.getState()).isEqualTo(DroneState.IDLE);
+        assertThat(docked.getBatteryCapacity()).isEqualTo(70);
+        assertThat(droneService.checkDroneAvailability(drone.getId())).isTrue();
+        assertThat(droneService.checkBattery(drone.getId())).isEqualTo(70);
+    }
+
+    private void seedDeliveredDrones(int fleetSize) {
+        for (int from = 0; from < fleetSize; from += 1000) {
+            jdbcTemplate.batchUpdate("INSERT INTO drone (id, serial_number, model, weight_limit, battery_capacity, "
+                    + "state, version) VALUES (?, ?, ?, ?, ?, ?, 0)",
+                    IntStream.range(from, Math.min(from + 1000, fleetSize))
+                            .mapToObj(i -> new Object[] { FIRST_ID + i, "TICK_" + i, MODEL.name(),
+                                    MODEL.getMaxWeight(), 80, DroneState.DELIVERED.name() })
+                            .toList());
+        }
+    }
+}
@@ -2,62 +2,95 @@ package com.hitachi.drone.sheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.List;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 
-import com.hitachi.drone.entity.Drone;
-import com.hitachi.drone.enums.DroneModel;
-import com.hitachi.drone.enums.DroneState;
-import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.lifecycle.DroneTransition;
+import com.hitachi.drone.lifecycle.DueTransition;
+import com.hitachi.drone.lifecycle.TransitionTimer;
 import com.hitachi.drone.scheduler.DroneStateScheduler;
+import com.hitachi.drone.service.IDroneService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class DroneStateSchedulerTest {
     private static final Long DRONE_ID = 1001L;
-    private static final String SERIAL_NUMBER = "SERIAL_001";
-    private static final DroneModel MODEL = DroneModel.CRUISERWEIGHT;
-    private static final Double DRONE_WEIGHT_LIMIT = DroneModel.CRUISERWEIGHT.getMaxWeight();
-    private static final Integer BATTERY_CAPACITY = 80;
-    private static final DroneState STATE = DroneState.DELIVERED;
+    private static final Long OTHER_DRONE_ID = 1002L;
 
     @InjectMocks
     DroneStateScheduler underTest;
 
     @Mock
-    DroneRepository droneRepository;
-
-    private Drone drone;
-
-    @BeforeEach
-    void setUp() {
-        drone = new Drone();
-        drone.setSerialNumber(SERIAL_NUMBER);
-        drone.setModel(MODEL);
-        drone.setState(STATE);
-        drone.setBatteryCapacity(BATTERY_CAPACITY);
-        drone.setWeightLimit(DRONE_WEIGHT_LIMIT);
-        drone.setId(DRONE_ID);
+    IDroneService droneService;
+
+    @Mock
+    TransitionTimer transitionTimer;
+
+    @Spy
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testAdvanceDueTransitions() {
+        // GIVEN
+        given(transitionTimer.drainDue()).willReturn(List.of(due(DRONE_ID, DroneTransition.RETURN),
+                due(OTHER_DRONE_ID, DroneTransition.ARRIVE), due(DRONE_ID, DroneTransition.RETURN)));
+        given(droneService.advanceDrones(DroneTransition.RETURN, List.of(DRONE_ID))).willReturn(1);
+
+        // WHEN
+        underTest.advanceDueTransitions();
+
+        // THEN
+        verify(droneService).advanceDrones(DroneTransition.ARRIVE, List.of(OTHER_DRONE_ID));
+        verify(droneService).advanceDrones(DroneTransition.RETURN, List.of(DRONE_ID));
+        assertThat(meterRegistry.get("drone.scheduler.tick").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drone.scheduler.transitions").tags("transition", "RETURN", "outcome", "applied")
+                .counter().count()).isEqualTo(1);
     }
 
     @Test
-    void testUpdateDroneStates() {
-        given(droneRepository.findByState(DroneState.DELIVERED)).willReturn(List.of(drone));
+    void testAdvanceDueTransitionsWithNothingDue() {
+        // GIVEN
+        given(transitionTimer.drainDue()).willReturn(List.of());
 
         // WHEN
-        underTest.updateDroneStates();
+        underTest.advanceDueTransitions();
 
         // THEN
-        verify(droneRepository).saveAll(anyList());
-        assertThat(drone.getBatteryCapacity()).isEqualTo(BATTERY_CAPACITY - 10);
-        assertThat(drone.getState()).isEqualTo(DroneState.RETURNING);
+        verifyNoInteractions(droneService);
+        assertThat(meterRegistry.find("drone.scheduler.tick").timer()).isNull();
+    }
+
+    @Test
+    void testFailedTransitionIsRescheduled() {
+        // GIVEN
+        given(transitionTimer.drainDue()).willReturn(List.of(due(DRONE_ID, DroneTransition.DOCK)));
+        given(droneService.advanceDrones(eq(DroneTransition.DOCK), anyList()))
+                .willThrow(new QueryTimeoutException("timeout"));
+
+        // WHEN
+        underTest.advanceDueTransitions();
+
+        // THEN
+        verify(transitionTimer).schedule(DRONE_ID, DroneTransition.DOCK, 5000);
+        assertThat(meterRegistry.get("drone.scheduler.transitions").tags("transition", "DOCK", "outcome", "retried")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private static DueTransition due(Long droneId, DroneTransition transition) {
+        return new DueTransition(droneId, transition, System.nanoTime());
     }
 }
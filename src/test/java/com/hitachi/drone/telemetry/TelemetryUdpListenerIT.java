@@ -0,0 +1,73 @@
+package com.hitachi.drone.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hitachi.drone.entity.Drone;
+import com.hitachi.drone.enums.DroneModel;
+import com.hitachi.drone.enums.DroneState;
+import com.hitachi.drone.repository.DroneRepository;
+import com.hitachi.drone.service.IDroneService;
+import com.hitachi.drone.service.ITelemetryService;
+
+// The flush is driven by the test, and the listener binds to a free port
+@SpringBootTest(properties = { "drone.telemetry.udp.enabled=true", "drone.telemetry.udp.port=0",
+        "drone.telemetry.flush-ms=3600000" })
+public class TelemetryUdpListenerIT {
+    private static final String SERIAL_NUMBER = "TELEMETRY_001";
+
+    @Autowired
+    TelemetryUdpListener telemetryUdpListener;
+
+    @Autowired
+    ITelemetryService telemetryService;
+
+    @Autowired
+    IDroneService droneService;
+
+    @Autowired
+    DroneRepository droneRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM drone WHERE serial_number = ?", SERIAL_NUMBER);
+    }
+
+    @Test
+    void testReportedBatteryIsWritten() throws Exception {
+        // GIVEN
+        Drone drone = droneService.registerDrone(
+                new Drone(null, SERIAL_NUMBER, DroneModel.LIGHTWEIGHT, null, 0.0, 100, DroneState.IDLE, null, null));
+
+        // WHEN
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            ByteBuffer record = ByteBuffer.allocate(ITelemetryService.RECORD_SIZE)
+                    .putLong(drone.getId()).put((byte) 64).flip();
+            channel.send(record, new InetSocketAddress("localhost", telemetryUdpListener.getPort()));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        int written = 0;
+        while (written == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            written = telemetryService.flushBatteries();
+        }
+
+        // THEN
+        assertThat(written).isEqualTo(1);
+        Drone stored = droneRepository.findById(drone.getId()).orElseThrow();
+        assertThat(stored.getBatteryCapacity()).isEqualTo(64);
+        assertThat(droneService.checkBattery(drone.getId())).isEqualTo(64);
+    }
+}